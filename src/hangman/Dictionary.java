@@ -0,0 +1,382 @@
+package hangman;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code Dictionary} class provides for an indexed collection of
+ * {@link Word} objects, categorized by difficulty, that may be used as the
+ * source of words for a game of "Hangman."
+ *
+ * <p> Objects of this class are <em>immutable</em>; their words cannot be
+ * changed after creation. Because of this, a single instance may be safely
+ * shared between any amount of games and threads.
+ *
+ * @author Oliver Abdulrahim
+ * @see DictionaryCatalogue
+ */
+public final class Dictionary {
+
+    /**
+     * Words with a length greater than or equal to this value are considered
+     * to be "easy," as they contain more letters that may be guessed.
+     */
+    private static final int EASY_MIN_LENGTH = 10;
+
+    /**
+     * Words with a length greater than or equal to this value (and less than
+     * {@link #EASY_MIN_LENGTH}) are considered to be "medium." Anything shorter
+     * is considered to be "hard."
+     */
+    private static final int MEDIUM_MIN_LENGTH = 7;
+
+    /**
+     * Rough estimate of the fixed amount of bytes that a single {@code Word}
+     * with its hash and letter mask, its {@code String}, the backing array and
+     * its slot in a bucket occupy on the heap, excluding the characters
+     * themselves and the letter-position table.
+     */
+    private static final int WORD_OVERHEAD_BYTES = 80;
+
+    /**
+     * Rough estimate of the fixed amount of bytes that the letter-position
+     * table of a {@code Word} occupies on the heap, excluding its entries.
+     */
+    private static final int POSITION_TABLE_OVERHEAD_BYTES = 16;
+
+    /**
+     * The maximum amount of words drawn when avoiding recently served words.
+     *
+     * @see #randomWord(int, RecentWords)
+     */
+    private static final int MAX_RECENT_DRAWS = 16;
+
+    /**
+     * Stores the name of this dictionary.
+     */
+    private final String name;
+
+    /**
+     * Stores the words of this dictionary, indexed by difficulty.
+     *
+     * @see Hangman#EASY_DIFFICULTY
+     * @see Hangman#MEDIUM_DIFFICULTY
+     * @see Hangman#HARD_DIFFICULTY
+     */
+    private final List<List<Word>> buckets;
+
+    /**
+     * Stores the approximate amount of memory used by this dictionary.
+     */
+    private final long estimatedBytes;
+
+    /**
+     * Constructs a {@code Dictionary} with the given name and words. The words
+     * are categorized by difficulty during construction, and duplicate words
+     * are only retained once.
+     *
+     * @param name The name of this dictionary.
+     * @param words The words to index.
+     */
+    public Dictionary(String name, Iterable<Word> words) {
+        this.name = name;
+        List<List<Word>> indexed = new ArrayList<>(3);
+        for (int i = Hangman.EASY_DIFFICULTY; i <= Hangman.HARD_DIFFICULTY; i++) {
+            indexed.add(new ArrayList<>());
+        }
+        for (Word w : words) {
+            if (w.length() > 0) {
+                indexed.get(difficultyOf(w)).add(w);
+            }
+        }
+        long bytes = 0;
+        for (int i = 0; i < indexed.size(); i++) {
+            List<Word> bucket = indexed.get(i);
+            Collections.sort(bucket);
+            ArrayList<Word> distinct = new ArrayList<>(bucket.size());
+            for (Word w : bucket) {
+                if (distinct.isEmpty()
+                        || !distinct.get(distinct.size() - 1).equals(w)) {
+                    distinct.add(w);
+                    bytes += estimatedBytes(w);
+                }
+            }
+            distinct.trimToSize();
+            indexed.set(i, Collections.unmodifiableList(distinct));
+        }
+        this.buckets = Collections.unmodifiableList(indexed);
+        this.estimatedBytes = bytes;
+    }
+
+    /**
+     * Constructs a {@code Dictionary} with the given name and already indexed
+     * words.
+     *
+     * @param name The name of this dictionary.
+     * @param buckets The sorted, distinct words of every difficulty.
+     * @param estimatedBytes The approximate memory used by the words.
+     */
+    private Dictionary(String name, List<List<Word>> buckets,
+            long estimatedBytes) {
+        this.name = name;
+        this.buckets = Collections.unmodifiableList(buckets);
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Returns a copy of this {@code Dictionary} whose words are stored outside
+     * of the Java heap. Retrieving a word from the copy creates a new
+     * {@code Word} object, so the words of the copy are equal to, but not
+     * identical to, the words of this dictionary.
+     *
+     * <p> Off-heap dictionaries keep the heap small when many large word lists
+     * are loaded, which shortens garbage collection pauses, at the cost of an
+     * allocation for every word retrieved. The hash and letter-position table
+     * of every word are stored with it, so retrieving a word does not index it
+     * again, and {@link Hint} examines the words in place.
+     *
+     * @return A copy of this dictionary stored off the heap.
+     * @see OffHeapWordList
+     */
+    public Dictionary toOffHeap() {
+        List<List<Word>> offHeap = new ArrayList<>(buckets.size());
+        long bytes = 0;
+        for (List<Word> bucket : buckets) {
+            OffHeapWordList list = bucket instanceof OffHeapWordList
+                    ? (OffHeapWordList) bucket
+                    : new OffHeapWordList(bucket);
+            offHeap.add(list);
+            bytes += list.offHeapBytes();
+        }
+        return new Dictionary(name, offHeap, bytes);
+    }
+
+    /**
+     * Reads a {@code Dictionary} from the given class path resource. The
+     * resource is expected to contain one word per line. Words are interned
+     * in the {@linkplain WordPool#shared() shared pool}, so that dictionaries
+     * containing the same words share their instances.
+     *
+     * @param name The name of the dictionary to create.
+     * @param resource The absolute class path location of the word list.
+     * @return A {@code Dictionary} containing the words in the given resource.
+     * @throws UncheckedIOException If the resource could not be read.
+     */
+    public static Dictionary fromResource(String name, String resource) {
+        return fromResource(name, resource, false);
+    }
+
+    /**
+     * Reads a {@code Dictionary} from the given class path resource, which is
+     * expected to contain one word per line. The lines are normalized first,
+     * so entries that are not alphabetic are dropped. If the dictionary is to
+     * be stored off the heap, its words are not interned, so that they may be
+     * reclaimed once the dictionary is built.
+     *
+     * @param name The name of the dictionary to create.
+     * @param resource The absolute class path location of the word list.
+     * @param offHeap Whether the words are stored outside of the Java heap.
+     * @return A {@code Dictionary} containing the words in the given resource.
+     * @throws UncheckedIOException If the resource could not be read.
+     * @see WordListNormalizer
+     * @see #toOffHeap()
+     */
+    public static Dictionary fromResource(String name, String resource,
+            boolean offHeap) {
+        InputStream in = Dictionary.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("No such resource : " + resource);
+        }
+        List<Word> words;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            words = WordListNormalizer.normalize(reader).words();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Could not read " + resource, ex);
+        }
+        if (offHeap) {
+            return fromSorted(name, words).toOffHeap();
+        }
+        WordPool pool = WordPool.shared();
+        List<Word> interned = new ArrayList<>(words.size());
+        for (Word w : words) {
+            interned.add(pool.intern(w));
+        }
+        return fromSorted(name, interned);
+    }
+
+    /**
+     * Returns a {@code Dictionary} containing the canonical words of the given
+     * normalized word list. As these words are already sorted and distinct,
+     * they are only categorized by difficulty.
+     *
+     * @param name The name of the dictionary to create.
+     * @param normalized The normalized word list.
+     * @return A {@code Dictionary} containing the given words.
+     */
+    public static Dictionary fromNormalized(String name,
+            WordListNormalizer normalized) {
+        return fromSorted(name, normalized.words());
+    }
+
+    /**
+     * Returns a {@code Dictionary} containing the given words, which must be
+     * sorted and distinct.
+     *
+     * @param name The name of the dictionary to create.
+     * @param words The sorted, distinct words to index.
+     * @return A {@code Dictionary} containing the given words.
+     */
+    private static Dictionary fromSorted(String name, List<Word> words) {
+        List<List<Word>> buckets = new ArrayList<>(3);
+        for (int i = Hangman.EASY_DIFFICULTY; i <= Hangman.HARD_DIFFICULTY; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        long bytes = 0;
+        for (Word w : words) {
+            buckets.get(difficultyOf(w)).add(w);
+            bytes += estimatedBytes(w);
+        }
+        for (int i = 0; i < buckets.size(); i++) {
+            ArrayList<Word> bucket = (ArrayList<Word>) buckets.get(i);
+            bucket.trimToSize();
+            buckets.set(i, Collections.unmodifiableList(bucket));
+        }
+        return new Dictionary(name, buckets, bytes);
+    }
+
+    /**
+     * Returns the difficulty setting that the given word belongs to.
+     *
+     * @param w The word to categorize.
+     * @return The difficulty of the given word.
+     */
+    public static int difficultyOf(Word w) {
+        int length = w.length();
+        if (length >= EASY_MIN_LENGTH) {
+            return Hangman.EASY_DIFFICULTY;
+        }
+        if (length >= MEDIUM_MIN_LENGTH) {
+            return Hangman.MEDIUM_DIFFICULTY;
+        }
+        return Hangman.HARD_DIFFICULTY;
+    }
+
+    /**
+     * Returns a rough estimate of the amount of bytes that the given word
+     * occupies on the heap, including its letter-position table, which has
+     * one entry per distinct letter.
+     *
+     * @param w The word to estimate.
+     * @return The approximate memory used by the given word.
+     */
+    private static long estimatedBytes(Word w) {
+        long bytes = WORD_OVERHEAD_BYTES + 2L * w.length();
+        if (w.hasPositionTable()) {
+            bytes += POSITION_TABLE_OVERHEAD_BYTES
+                    + 4L * Integer.bitCount(w.letterMask());
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the name of this dictionary.
+     *
+     * @return The name of this dictionary.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns an unmodifiable view of the words with the given difficulty.
+     *
+     * @param difficulty The difficulty setting of the words to return.
+     * @return The words with the given difficulty.
+     * @throws IllegalArgumentException If the difficulty is not valid.
+     */
+    public List<Word> words(int difficulty) {
+        if (difficulty < Hangman.EASY_DIFFICULTY
+                || difficulty > Hangman.HARD_DIFFICULTY) {
+            throw new IllegalArgumentException("difficulty : " + difficulty);
+        }
+        return buckets.get(difficulty);
+    }
+
+    /**
+     * Returns a pseudorandom word with the given difficulty. If there are no
+     * such words, returns {@link Word#NULL_WORD}.
+     *
+     * @param difficulty The difficulty setting of the word to return.
+     * @return A random word with the given difficulty.
+     */
+    public Word randomWord(int difficulty) {
+        List<Word> bucket = words(difficulty);
+        if (bucket.isEmpty()) {
+            return Word.NULL_WORD;
+        }
+        return bucket.get(ThreadLocalRandom.current().nextInt(bucket.size()));
+    }
+
+    /**
+     * Returns a pseudorandom word with the given difficulty that was not
+     * served recently, and records it as served. Up to
+     * {@link #MAX_RECENT_DRAWS} words are drawn; if every one of them may have
+     * been served recently, the last one is returned anyway.
+     *
+     * @param difficulty The difficulty setting of the word to return.
+     * @param recent The words that were served recently.
+     * @return A random word with the given difficulty.
+     */
+    public Word randomWord(int difficulty, RecentWords recent) {
+        Word w = randomWord(difficulty);
+        for (int i = 1; i < MAX_RECENT_DRAWS && recent.mightContain(w); i++) {
+            w = randomWord(difficulty);
+        }
+        recent.add(w);
+        return w;
+    }
+
+    /**
+     * Returns the total amount of words in this dictionary.
+     *
+     * @return The amount of words in this dictionary.
+     */
+    public int size() {
+        int size = 0;
+        for (List<Word> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the approximate amount of memory, in bytes, that the words of
+     * this dictionary occupy, whether on or off the heap.
+     *
+     * @return The estimated memory footprint of this dictionary.
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Returns a {@code String} representation of this {@code Dictionary}.
+     *
+     * @return The name and size of this dictionary.
+     */
+    @Override
+    public String toString() {
+        return name + " (" + size() + " words)";
+    }
+
+}
@@ -0,0 +1,288 @@
+package hangman;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * The {@code DictionaryCatalogue} class manages several named
+ * {@link Dictionary} objects, each of which is loaded and indexed lazily on its
+ * first use.
+ *
+ * <p> Loaded dictionaries are kept in least-recently-used order. Whenever the
+ * estimated size of all loaded dictionaries exceeds the memory budget of the
+ * catalogue, the coldest dictionaries are evicted until the budget is met
+ * again. Evicted dictionaries remain registered and are simply reloaded the
+ * next time they are requested.
+ *
+ * <p> Objects of this class are safe for use by multiple threads. Dictionaries
+ * are loaded outside of the lock of the catalogue, so that loading one does
+ * not block requests for dictionaries that are already loaded. Concurrent
+ * requests for a dictionary that is being loaded wait for the same load.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class DictionaryCatalogue {
+
+    /**
+     * The name of the default English dictionary.
+     */
+    public static final String ENGLISH = "english";
+
+    /**
+     * The class path location of the default English word list.
+     */
+    private static final String ENGLISH_RESOURCE = "/resources/dictionary.txt";
+
+    /**
+     * The memory budget used by the default catalogue, in bytes.
+     */
+    private static final long DEFAULT_BUDGET = 256L * 1024 * 1024;
+
+    /**
+     * Lazily initialized catalogue shared by default game instances.
+     */
+    private static final class DefaultHolder {
+        static final DictionaryCatalogue INSTANCE = new DictionaryCatalogue(DEFAULT_BUDGET);
+        static {
+            INSTANCE.registerResource(ENGLISH, ENGLISH_RESOURCE);
+        }
+    }
+
+    /**
+     * Returns the catalogue shared by default game instances. This catalogue
+     * contains the {@link #ENGLISH} dictionary.
+     *
+     * @return The default catalogue.
+     */
+    public static DictionaryCatalogue defaultCatalogue() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Stores the loaders of every registered dictionary, by name.
+     */
+    private final Map<String, Supplier<Dictionary>> loaders;
+
+    /**
+     * Stores the dictionaries that are currently loaded, in access order.
+     */
+    private final LinkedHashMap<String, Dictionary> loaded;
+
+    /**
+     * Stores the loads that are in progress, by name.
+     */
+    private final Map<String, FutureTask<Dictionary>> pending;
+
+    /**
+     * Stores the maximum estimated size of all loaded dictionaries, in bytes.
+     */
+    private final long budget;
+
+    /**
+     * Stores the estimated size of all loaded dictionaries, in bytes.
+     */
+    private long loadedBytes;
+
+    /**
+     * Constructs an empty {@code DictionaryCatalogue} with the given memory
+     * budget.
+     *
+     * @param budget The maximum estimated size, in bytes, of the dictionaries
+     *        that may be loaded at the same time.
+     */
+    public DictionaryCatalogue(long budget) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("budget : " + budget + " <= 0 !");
+        }
+        this.budget = budget;
+        this.loaders = new LinkedHashMap<>();
+        this.loaded = new LinkedHashMap<>(16, 0.75f, true);
+        this.pending = new HashMap<>();
+    }
+
+    /**
+     * Registers a dictionary with the given name and loader. The loader is not
+     * invoked until the dictionary is first requested.
+     *
+     * @param name The name of the dictionary.
+     * @param loader Creates the dictionary when it is requested.
+     * @throws IllegalArgumentException If the name is already registered.
+     */
+    public synchronized void register(String name, Supplier<Dictionary> loader) {
+        Objects.requireNonNull(loader);
+        if (loaders.containsKey(name)) {
+            throw new IllegalArgumentException("Already registered : " + name);
+        }
+        loaders.put(name, loader);
+    }
+
+    /**
+     * Registers a dictionary with the given name that is read from the given
+     * class path resource.
+     *
+     * @param name The name of the dictionary.
+     * @param resource The class path location of the word list.
+     * @see Dictionary#fromResource(String, String)
+     */
+    public void registerResource(String name, String resource) {
+        registerResource(name, resource, false);
+    }
+
+    /**
+     * Registers a dictionary with the given name that is read from the given
+     * class path resource and optionally stored outside of the Java heap.
+     *
+     * @param name The name of the dictionary.
+     * @param resource The class path location of the word list.
+     * @param offHeap Whether the words are stored outside of the Java heap.
+     * @see Dictionary#fromResource(String, String, boolean)
+     */
+    public void registerResource(String name, String resource, boolean offHeap) {
+        register(name, () -> Dictionary.fromResource(name, resource, offHeap));
+    }
+
+    /**
+     * Returns {@code true} if a dictionary with the given name is registered,
+     * {@code false} otherwise.
+     *
+     * @param name The name to test.
+     * @return {@code true} if the name is registered, {@code false} otherwise.
+     */
+    public synchronized boolean isRegistered(String name) {
+        return loaders.containsKey(name);
+    }
+
+    /**
+     * Returns {@code true} if a dictionary with the given name is currently
+     * loaded, {@code false} otherwise.
+     *
+     * @param name The name to test.
+     * @return {@code true} if the dictionary is loaded, {@code false}
+     *         otherwise.
+     */
+    public synchronized boolean isLoaded(String name) {
+        return loaded.containsKey(name);
+    }
+
+    /**
+     * Returns the dictionary with the given name, loading it and evicting cold
+     * dictionaries as needed.
+     *
+     * @param name The name of the dictionary to return.
+     * @return The dictionary with the given name.
+     * @throws IllegalArgumentException If no dictionary has the given name.
+     */
+    public Dictionary get(String name) {
+        FutureTask<Dictionary> load;
+        boolean owner = false;
+        synchronized (this) {
+            Dictionary d = loaded.get(name);
+            if (d != null) {
+                return d;
+            }
+            load = pending.get(name);
+            if (load == null) {
+                Supplier<Dictionary> loader = loaders.get(name);
+                if (loader == null) {
+                    throw new IllegalArgumentException("Unknown dictionary : " + name);
+                }
+                load = new FutureTask<>(loader::get);
+                pending.put(name, load);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            return await(load);
+        }
+        load.run();
+        synchronized (this) {
+            pending.remove(name);
+            Dictionary d = await(load);
+            loaded.put(name, d);
+            loadedBytes += d.estimatedBytes();
+            evict(name);
+            return d;
+        }
+    }
+
+    /**
+     * Waits for the given load to complete and returns its dictionary. If the
+     * calling thread is interrupted while waiting, its interrupt status is
+     * restored once the load completes.
+     *
+     * @param load The load to wait for.
+     * @return The loaded dictionary.
+     * @throws RuntimeException If the loader threw an exception.
+     * @throws Error If the loader threw an error.
+     */
+    private static Dictionary await(FutureTask<Dictionary> load) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return load.get();
+                }
+                catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+                catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        }
+        finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used dictionaries until the loaded size is
+     * within budget. The dictionary with the given name is never evicted.
+     *
+     * @param keep The name of the dictionary to keep loaded.
+     */
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Dictionary>> it = loaded.entrySet().iterator();
+        while (loadedBytes > budget && it.hasNext()) {
+            Map.Entry<String, Dictionary> e = it.next();
+            if (!e.getKey().equals(keep)) {
+                loadedBytes -= e.getValue().estimatedBytes();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated size, in bytes, of all loaded dictionaries.
+     *
+     * @return The estimated size of all loaded dictionaries.
+     */
+    public synchronized long loadedBytes() {
+        return loadedBytes;
+    }
+
+    /**
+     * Returns the memory budget of this catalogue, in bytes.
+     *
+     * @return The memory budget of this catalogue.
+     */
+    public long budget() {
+        return budget;
+    }
+
+}
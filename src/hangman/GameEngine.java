@@ -0,0 +1,305 @@
+package hangman;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@code GameEngine} class hosts a collection of {@link Hangman} game
+ * sessions, identified by their session id. An engine is a single node of a
+ * {@link SessionRouter}, and sessions are moved between engines in their
+ * {@linkplain GameSnapshot snapshot} form.
+ *
+ * <p> Guesses made through {@link #guess(String, String)} are broadcast as
+ * {@link GameEvent}s to the spectators of the session, if it has any.
+ * Spectators are completed when their session is closed or moved to another
+ * engine.
+ *
+ * <p> The session table of an engine is safe for use by multiple threads. The
+ * games themselves are not, so callers that share a session between threads
+ * must synchronize on it, as {@link #guess(String, String)} does.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class GameEngine {
+
+    /**
+     * Stores the identifier of this engine.
+     */
+    private final String id;
+
+    /**
+     * Stores the dictionary that games hosted by this engine select words
+     * from.
+     */
+    private final Dictionary dictionary;
+
+    /**
+     * Stores the sessions hosted by this engine.
+     */
+    private final ConcurrentMap<String, Hangman> sessions;
+
+    /**
+     * Stores the broadcasts of the sessions that have spectators.
+     */
+    private final ConcurrentMap<String, Broadcast> broadcasts;
+
+    /**
+     * Constructs an empty {@code GameEngine}.
+     *
+     * @param id The identifier of this engine, which must be unique among the
+     *        engines of a router.
+     * @param dictionary The dictionary that hosted games select words from.
+     */
+    public GameEngine(String id, Dictionary dictionary) {
+        this.id = id;
+        this.dictionary = dictionary;
+        this.sessions = new ConcurrentHashMap<>();
+        this.broadcasts = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the identifier of this engine.
+     *
+     * @return The identifier of this engine.
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Returns the session with the given id, creating a new game with the given
+     * difficulty if there is no such session.
+     *
+     * @param sessionId The id of the session.
+     * @param difficulty The difficulty of a newly created game.
+     * @return The game of the session.
+     */
+    public Hangman open(String sessionId, int difficulty) {
+        return sessions.computeIfAbsent(sessionId,
+                k -> new Hangman(dictionary, difficulty));
+    }
+
+    /**
+     * Returns the session with the given id, or {@code null} if there is no
+     * such session.
+     *
+     * @param sessionId The id of the session.
+     * @return The game of the session, or {@code null}.
+     */
+    public Hangman get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Removes the session with the given id, completing its spectators.
+     *
+     * @param sessionId The id of the session.
+     * @return The game of the removed session, or {@code null} if there was no
+     *         such session.
+     */
+    public Hangman close(String sessionId) {
+        Hangman game = sessions.remove(sessionId);
+        endBroadcast(sessionId);
+        return game;
+    }
+
+    /**
+     * Makes the given guess in the session with the given id, and publishes
+     * the resulting event to the spectators of the session. Guesses that are
+     * rejected by the game are not published.
+     *
+     * @param sessionId The id of the session.
+     * @param guess The guess to make.
+     * @return {@code true} if the guess was correct, {@code false} otherwise.
+     * @throws IllegalArgumentException If there is no such session, or if it
+     *         was closed or moved before the guess could be made.
+     * @see Hangman#makeGuess(String)
+     * @see SessionRouter#guess(String, String)
+     */
+    public boolean guess(String sessionId, String guess) {
+        Hangman game = sessions.get(sessionId);
+        if (game == null) {
+            throw new IllegalArgumentException("Unknown session : " + sessionId);
+        }
+        synchronized (game) {
+            if (sessions.get(sessionId) != game) {
+                // Closed or moved to another engine while this guess waited
+                throw new IllegalArgumentException("Unknown session : " + sessionId);
+            }
+            int guessesLeft = game.getGuessesLeft();
+            boolean correct = game.makeGuess(guess);
+            Broadcast b = broadcasts.get(sessionId);
+            if (b != null && (correct || game.getGuessesLeft() != guessesLeft)) {
+                b.publisher.publish(GameEvent.of(++b.sequence, game, guess,
+                        correct));
+            }
+            return correct;
+        }
+    }
+
+    /**
+     * Subscribes the given spectator to the guesses made in the session with
+     * the given id.
+     *
+     * @param sessionId The id of the session.
+     * @param subscriber The spectator to subscribe.
+     * @param conflate Whether only the most recent event is kept when the
+     *        spectator falls behind.
+     * @throws IllegalArgumentException If there is no such session.
+     * @see SpectatorPublisher#subscribe(SpectatorPublisher.Subscriber, boolean)
+     */
+    public void spectate(String sessionId, SpectatorPublisher.Subscriber subscriber,
+            boolean conflate) {
+        if (!sessions.containsKey(sessionId)) {
+            throw new IllegalArgumentException("Unknown session : " + sessionId);
+        }
+        broadcasts.computeIfAbsent(sessionId, k -> new Broadcast())
+                .publisher.subscribe(subscriber, conflate);
+        if (!sessions.containsKey(sessionId)) {
+            // The session was closed concurrently
+            endBroadcast(sessionId);
+        }
+    }
+
+    /**
+     * Completes the spectators of the session with the given id, if any.
+     *
+     * @param sessionId The id of the session.
+     */
+    private void endBroadcast(String sessionId) {
+        Broadcast b = broadcasts.remove(sessionId);
+        if (b != null) {
+            b.publisher.close();
+        }
+    }
+
+    /**
+     * Returns an unmodifiable view of the ids of the sessions hosted by this
+     * engine.
+     *
+     * @return The ids of the hosted sessions.
+     */
+    public Set<String> sessionIds() {
+        return Collections.unmodifiableSet(sessions.keySet());
+    }
+
+    /**
+     * Returns the amount of sessions hosted by this engine.
+     *
+     * @return The amount of hosted sessions.
+     */
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Removes the session with the given id if it still hosts the given game,
+     * completing its spectators.
+     *
+     * @param sessionId The id of the session.
+     * @param game The game that the session is expected to host.
+     * @return {@code true} if the session was removed, {@code false}
+     *         otherwise.
+     */
+    public boolean close(String sessionId, Hangman game) {
+        if (!sessions.remove(sessionId, game)) {
+            return false;
+        }
+        endBroadcast(sessionId);
+        return true;
+    }
+
+    /**
+     * Writes the snapshot of the session with the given id into the given
+     * buffer. The session remains hosted by this engine; callers that move it
+     * elsewhere should {@linkplain #close(String, Hangman) close} it once it
+     * has been imported.
+     *
+     * @param sessionId The id of the session to export.
+     * @param buffer The buffer to write the snapshot into.
+     * @return {@code true} if the session was exported, {@code false} if
+     *         there was no such session.
+     * @throws IllegalArgumentException If the game of the session cannot be
+     *         encoded, in which case the buffer is left unchanged.
+     * @see GameSnapshot#encode(Hangman, ByteBuffer)
+     */
+    public boolean exportSession(String sessionId, ByteBuffer buffer) {
+        Hangman game = sessions.get(sessionId);
+        if (game == null) {
+            return false;
+        }
+        synchronized (game) {
+            GameSnapshot.encode(game, buffer);
+        }
+        return true;
+    }
+
+    /**
+     * Reads a session snapshot from the given buffer and hosts it under the
+     * given id, replacing any existing session with that id.
+     *
+     * @param sessionId The id of the session to import.
+     * @param buffer The buffer to read the snapshot from.
+     * @see GameSnapshot#decode(ByteBuffer, Dictionary)
+     */
+    public void importSession(String sessionId, ByteBuffer buffer) {
+        host(sessionId, restore(buffer));
+    }
+
+    /**
+     * Reads a session snapshot from the given buffer and returns its game,
+     * which selects later words from the dictionary of this engine, without
+     * hosting it.
+     *
+     * @param buffer The buffer to read the snapshot from.
+     * @return The game of the snapshot.
+     * @throws IllegalArgumentException If the snapshot is malformed.
+     */
+    Hangman restore(ByteBuffer buffer) {
+        return GameSnapshot.decode(buffer, dictionary);
+    }
+
+    /**
+     * Hosts the given game under the given id, replacing any existing session
+     * with that id.
+     *
+     * @param sessionId The id of the session.
+     * @param game The game to host.
+     */
+    void host(String sessionId, Hangman game) {
+        sessions.put(sessionId, game);
+    }
+
+    /**
+     * Returns a {@code String} representation of this {@code GameEngine}.
+     *
+     * @return The id and session count of this engine.
+     */
+    @Override
+    public String toString() {
+        return id + " (" + sessions.size() + " sessions)";
+    }
+
+    /**
+     * Stores the publisher of a session with spectators, along with the
+     * sequence number of its last event, which is guarded by the game of the
+     * session.
+     */
+    private static final class Broadcast {
+
+        /**
+         * Stores the publisher that delivers the events of the session.
+         */
+        private final SpectatorPublisher publisher = new SpectatorPublisher();
+
+        /**
+         * Stores the sequence number of the last published event.
+         */
+        private long sequence;
+
+    }
+
+}
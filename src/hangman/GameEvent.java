@@ -0,0 +1,164 @@
+package hangman;
+
+/**
+ * The {@code GameEvent} class provides for a record of the progress of a game
+ * of "Hangman," as broadcast to spectators.
+ *
+ * <p> Every event carries the complete visible state of the game at the time
+ * that it was published, so that a spectator that misses events may catch up
+ * using the most recent one alone.
+ *
+ * <p> Objects of this class are <em>immutable</em>.
+ *
+ * @author Oliver Abdulrahim
+ * @see SpectatorPublisher
+ */
+public final class GameEvent {
+
+    /**
+     * Type of an event published after a guess that was in the current word.
+     */
+    public static final int HIT = 0;
+
+    /**
+     * Type of an event published after a guess that was not in the current
+     * word.
+     */
+    public static final int MISS = 1;
+
+    /**
+     * Type of an event published when the game has been won.
+     */
+    public static final int WON = 2;
+
+    /**
+     * Type of an event published when the game has been lost.
+     */
+    public static final int LOST = 3;
+
+    /**
+     * Stores the sequence number of this event within its game.
+     */
+    private final long sequence;
+
+    /**
+     * Stores the type of this event.
+     */
+    private final int type;
+
+    /**
+     * Stores the guess that caused this event.
+     */
+    private final String guess;
+
+    /**
+     * Stores the characters that had been guessed correctly.
+     */
+    private final String revealed;
+
+    /**
+     * Stores the amount of incorrect guesses that were remaining.
+     */
+    private final int guessesLeft;
+
+    /**
+     * Constructs a {@code GameEvent} with the given properties.
+     *
+     * @param sequence The sequence number of the event.
+     * @param type The type of the event.
+     * @param guess The guess that caused the event.
+     * @param revealed The characters that had been guessed correctly.
+     * @param guessesLeft The amount of incorrect guesses remaining.
+     */
+    public GameEvent(long sequence, int type, String guess, String revealed,
+            int guessesLeft) {
+        this.sequence = sequence;
+        this.type = type;
+        this.guess = guess;
+        this.revealed = revealed;
+        this.guessesLeft = guessesLeft;
+    }
+
+    /**
+     * Returns an event that describes the given game after the given guess.
+     * If the game has ended, the event is of type {@link #WON} or
+     * {@link #LOST}.
+     *
+     * @param sequence The sequence number of the event.
+     * @param game The game in which the guess was made.
+     * @param guess The guess that was made.
+     * @param correct Whether the guess was in the current word.
+     * @return An event describing the state of the game.
+     */
+    public static GameEvent of(long sequence, Hangman game, String guess,
+            boolean correct) {
+        int type = correct ? HIT : MISS;
+        if (game.hasWon()) {
+            type = WON;
+        }
+        else if (!game.canGuess()) {
+            type = LOST;
+        }
+        return new GameEvent(sequence, type, guess, game.getCorrectGuesses(),
+                game.getGuessesLeft());
+    }
+
+    /**
+     * Returns the sequence number of this event within its game. Gaps in the
+     * sequence numbers seen by a spectator indicate conflated events.
+     *
+     * @return The sequence number of this event.
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the type of this event.
+     *
+     * @return The type of this event.
+     */
+    public int type() {
+        return type;
+    }
+
+    /**
+     * Returns the guess that caused this event.
+     *
+     * @return The guess that caused this event.
+     */
+    public String guess() {
+        return guess;
+    }
+
+    /**
+     * Returns the characters that had been guessed correctly.
+     *
+     * @return The characters that had been guessed correctly.
+     * @see Hangman#getCorrectGuesses()
+     */
+    public String revealed() {
+        return revealed;
+    }
+
+    /**
+     * Returns the amount of incorrect guesses that were remaining.
+     *
+     * @return The amount of incorrect guesses remaining.
+     */
+    public int guessesLeft() {
+        return guessesLeft;
+    }
+
+    /**
+     * Returns a {@code String} representation of this {@code GameEvent}.
+     *
+     * @return A human-readable description of this event.
+     */
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + guess + " -> " + revealed + " ("
+                + guessesLeft + " left)";
+    }
+
+}
@@ -0,0 +1,217 @@
+package hangman;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code GameSnapshot} class contains methods that encode a
+ * {@link Hangman} game into a compact binary form and decode it again, so that
+ * games in progress may be moved between processes or recovered after a
+ * restart.
+ *
+ * <p> A snapshot has the following layout, in the byte order of the buffer:
+ *   <ol>
+ *     <li> {@code byte} - the format version ({@link #VERSION}).
+ *     <li> {@code byte} - the difficulty setting.
+ *     <li> {@code byte} - the amount of incorrect guesses remaining.
+ *     <li> {@code byte} - the length {@code n} of the current word.
+ *     <li> {@code int} - the letters guessed on their own, where bit {@code 0}
+ *          represents {@code 'a'} and bit {@code 25} represents {@code 'z'}.
+ *     <li> {@code byte} - the amount {@code m} of other guesses, such as
+ *          whole words and characters other than {@code 'a'} to {@code 'z'}.
+ *     <li> {@code n} {@code byte}s - the characters of the current word.
+ *     <li> {@code m} times, a {@code byte} length {@code k} followed by
+ *          {@code k} {@code byte}s - the characters of every other guess, in
+ *          the order that they were made.
+ *   </ol>
+ *
+ * <p> Every character must be in the ISO-8859-1 range, and every length and
+ * count must fit in an unsigned byte. The order of the letter guesses is not
+ * preserved; restored games report them in alphabetical order, followed by
+ * the other guesses. Snapshots of the previous version, which has no other
+ * guesses and a header one byte shorter, may still be decoded.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class GameSnapshot {
+
+    /**
+     * The version of the snapshot format.
+     */
+    public static final byte VERSION = 2;
+
+    /**
+     * The previous version of the snapshot format, which has no section for
+     * other guesses. Snapshots of this version are only decoded.
+     */
+    static final byte VERSION_1 = 1;
+
+    /**
+     * The size of a snapshot, in bytes, excluding the current word and the
+     * other guesses.
+     */
+    public static final int HEADER_SIZE = 9;
+
+    /**
+     * The maximum length of a word or other guess that may be encoded, which
+     * is also the maximum amount of other guesses.
+     */
+    public static final int MAX_WORD_LENGTH = 0xff;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private GameSnapshot() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Returns the size, in bytes, of the snapshot of the given game.
+     *
+     * @param game The game to measure.
+     * @return The size of the snapshot of the game.
+     */
+    public static int size(Hangman game) {
+        int size = HEADER_SIZE + game.getCurrentWord().length();
+        for (String g : game.otherGuesses()) {
+            size += 1 + g.length();
+        }
+        return size;
+    }
+
+    /**
+     * Writes the snapshot of the given game into the given buffer, starting at
+     * its current position. The game and the space remaining in the buffer
+     * are validated before anything is written, so the buffer is left
+     * unchanged if the game cannot be encoded.
+     *
+     * @param game The game to encode.
+     * @param buffer The buffer to write to.
+     * @throws IllegalArgumentException If the game cannot be encoded.
+     * @throws java.nio.BufferOverflowException If the buffer does not have
+     *         {@link #size(Hangman)} bytes remaining.
+     */
+    public static void encode(Hangman game, ByteBuffer buffer) {
+        String word = game.getCurrentWord();
+        List<String> others = game.otherGuesses();
+        checkEncodable(word);
+        if (others.size() > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Too many guesses : " + others.size());
+        }
+        for (String g : others) {
+            checkEncodable(g);
+        }
+        if (buffer.remaining() < size(game)) {
+            throw new BufferOverflowException();
+        }
+        buffer.put(VERSION)
+              .put((byte) game.getDifficulty())
+              .put((byte) game.getGuessesLeft())
+              .put((byte) word.length())
+              .putInt(game.getGuessedMask())
+              .put((byte) others.size());
+        put(buffer, word);
+        for (String g : others) {
+            buffer.put((byte) g.length());
+            put(buffer, g);
+        }
+    }
+
+    /**
+     * Checks that the given word or guess fits in a snapshot.
+     *
+     * @param str The characters to check.
+     * @throws IllegalArgumentException If the characters cannot be encoded.
+     */
+    private static void checkEncodable(String str) {
+        if (str.length() > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Too long : " + str.length());
+        }
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c > 0xff) {
+                throw new IllegalArgumentException("Not an ISO-8859-1 character : " + c);
+            }
+        }
+    }
+
+    /**
+     * Writes the given characters into the given buffer, one byte each.
+     *
+     * @param buffer The buffer to write to.
+     * @param str The characters to write, which must be encodable.
+     */
+    private static void put(ByteBuffer buffer, String str) {
+        for (int i = 0; i < str.length(); i++) {
+            buffer.put((byte) str.charAt(i));
+        }
+    }
+
+    /**
+     * Reads the given amount of characters from the given buffer, one byte
+     * each.
+     *
+     * @param buffer The buffer to read from.
+     * @param length The amount of characters to read.
+     * @return The characters read.
+     */
+    private static String get(ByteBuffer buffer, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (buffer.get() & 0xff);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Reads a snapshot from the given buffer, starting at its current
+     * position, and returns the game it represents. Every field is validated
+     * before the game is constructed.
+     *
+     * @param buffer The buffer to read from.
+     * @param dictionary The dictionary from which the restored game selects
+     *        its later words.
+     * @return The game represented by the snapshot.
+     * @throws IllegalArgumentException If the snapshot is malformed.
+     * @throws java.nio.BufferUnderflowException If the buffer does not contain
+     *         a whole snapshot.
+     */
+    public static Hangman decode(ByteBuffer buffer, Dictionary dictionary) {
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_1) {
+            throw new IllegalArgumentException("Unknown version : " + version);
+        }
+        int difficulty = buffer.get();
+        int guessesLeft = buffer.get();
+        int length = buffer.get() & 0xff;
+        int mask = buffer.getInt();
+        int count = version == VERSION_1 ? 0 : buffer.get() & 0xff;
+        if (difficulty < Hangman.EASY_DIFFICULTY
+                || difficulty > Hangman.HARD_DIFFICULTY) {
+            throw new IllegalArgumentException("difficulty : " + difficulty);
+        }
+        if (guessesLeft < 0 || guessesLeft > Hangman.DEFAULT_MAX_GUESSES) {
+            throw new IllegalArgumentException("guessesLeft : " + guessesLeft);
+        }
+        if ((mask >>> 26) != 0) {
+            throw new IllegalArgumentException("Malformed snapshot");
+        }
+        String word = get(buffer, length);
+        List<String> others = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int k = buffer.get() & 0xff;
+            String g = get(buffer, k);
+            // Letters guessed on their own belong in the mask
+            if (k == 0 || k == 1 && g.charAt(0) >= 'a' && g.charAt(0) <= 'z'
+                    || others.contains(g)) {
+                throw new IllegalArgumentException("Malformed guess : " + g);
+            }
+            others.add(g);
+        }
+        return new Hangman(dictionary, difficulty, word, mask, others,
+                guessesLeft);
+    }
+
+}
@@ -0,0 +1,114 @@
+package hangman;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code GuessStrategy} interface provides for automated players of a game
+ * of "Hangman." Implementations choose the next letter to guess based on the
+ * visible state of a {@link Hangman} game.
+ *
+ * <p> The implementations returned by the factory methods of this interface
+ * are stateless and may be shared between threads.
+ *
+ * @author Oliver Abdulrahim
+ * @see Simulator
+ */
+public interface GuessStrategy {
+
+    /**
+     * Stores the letters of the English alphabet, ordered from most to least
+     * frequent.
+     */
+    String FREQUENCY_ORDER = "etaoinshrdlcumwfgypbvkjxqz";
+
+    /**
+     * Returns the next letter to guess in the given game, or {@code '\0'} if
+     * every letter has already been guessed.
+     *
+     * @param game The game to choose a guess for.
+     * @return The next letter to guess.
+     */
+    char nextGuess(Hangman game);
+
+    /**
+     * Returns the strategy with the given name, which may be {@code "random"},
+     * {@code "frequency"}, or {@code "solver"}.
+     *
+     * @param name The name of the strategy to return.
+     * @return The strategy with the given name.
+     * @throws IllegalArgumentException If no strategy has the given name.
+     */
+    static GuessStrategy forName(String name) {
+        switch (name) {
+            case "random":
+                return random();
+            case "frequency":
+                return frequency();
+            case "solver":
+                return solver();
+            default:
+                throw new IllegalArgumentException("Unknown strategy : " + name);
+        }
+    }
+
+    /**
+     * Returns a strategy that guesses a pseudorandom letter that has not been
+     * guessed yet.
+     *
+     * @return A strategy that makes random guesses.
+     */
+    static GuessStrategy random() {
+        return game -> {
+            int guessed = game.getGuessedMask();
+            int remaining = 26 - Integer.bitCount(guessed);
+            if (remaining == 0) {
+                return '\0';
+            }
+            int n = ThreadLocalRandom.current().nextInt(remaining);
+            for (int i = 0; i < 26; i++) {
+                if ((guessed & (1 << i)) == 0 && n-- == 0) {
+                    return (char) ('a' + i);
+                }
+            }
+            return '\0';
+        };
+    }
+
+    /**
+     * Returns a strategy that guesses letters in order of their frequency in
+     * English text.
+     *
+     * @return A strategy that makes guesses by letter frequency.
+     * @see #FREQUENCY_ORDER
+     */
+    static GuessStrategy frequency() {
+        return game -> {
+            int guessed = game.getGuessedMask();
+            for (int i = 0; i < FREQUENCY_ORDER.length(); i++) {
+                char c = FREQUENCY_ORDER.charAt(i);
+                if ((guessed & (1 << (c - 'a'))) == 0) {
+                    return c;
+                }
+            }
+            return '\0';
+        };
+    }
+
+    /**
+     * Returns a strategy that narrows the words of the game's dictionary down
+     * to those that are consistent with the guesses made so far, and guesses
+     * the letter that occurs in the most of them.
+     *
+     * @return A strategy that solves games using the dictionary.
+     * @see Hint
+     */
+    static GuessStrategy solver() {
+        return game -> {
+            Hint hint = Hint.of(game, 1);
+            return hint == null || hint.letters().isEmpty()
+                    ? '\0'
+                    : hint.letters().charAt(0);
+        };
+    }
+
+}
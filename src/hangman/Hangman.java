@@ -1,8 +1,9 @@
 package hangman;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import javax.swing.ImageIcon;
 
 /**
  * The {@code Hangman} class contains the logic for a game of "Hangman." Game
@@ -10,8 +11,8 @@ import javax.swing.ImageIcon;
  * contained within this class.
  *
  * @author Oliver Abdulrahim
- * @see language.Dictionary
- * @see language.Word
+ * @see Dictionary
+ * @see Word
  */
 public final class Hangman {
     
@@ -42,19 +43,68 @@ public final class Hangman {
     private static final String GUESS_DELIMITER = "_";
     
     /**
-     * Stores words considered to be "easy."
+     * The maximum amount of guesses that may be made by a single call to
+     * {@link #makeGuesses(CharSequence)}.
      */
-    private List<Word> easyWords;
+    public static final int MAX_BATCH_SIZE = 26;
     
     /**
-     * Stores words considered to be "medium."
+     * Outcome of a batched guess that was rejected, either because it has
+     * already been guessed or because it is blank.
+     * 
+     * @see #batchOutcome(long, int)
+     */
+    public static final int GUESS_REJECTED = 0;
+    
+    /**
+     * Outcome of a batched guess that was not in the current word.
+     * 
+     * @see #batchOutcome(long, int)
+     */
+    public static final int GUESS_MISSED = 1;
+    
+    /**
+     * Outcome of a batched guess that was in the current word.
+     * 
+     * @see #batchOutcome(long, int)
+     */
+    public static final int GUESS_HIT = 2;
+    
+    /**
+     * The bit offset of the amount of guesses applied within a batch result.
+     */
+    private static final int BATCH_COUNT_SHIFT = 2 * MAX_BATCH_SIZE;
+    
+    /**
+     * Bit set in a batch result if the game was won.
+     */
+    private static final long BATCH_WON = 1L << (BATCH_COUNT_SHIFT + 5);
+    
+    /**
+     * Bit set in a batch result if the game was lost.
+     */
+    private static final long BATCH_LOST = BATCH_WON << 1;
+    
+    /**
+     * The amount of incorrect guesses allowed in a game.
+     */
+    static final int DEFAULT_MAX_GUESSES = 6;
+    
+    /**
+     * Stores the dictionary from which words are selected.
      */
-    private List<Word> mediumWords;
+    private Dictionary dictionary;
     
     /**
-     * Stores words considered to be "hard."
+     * Stores the difficulty setting of the current game.
      */
-    private List<Word> hardWords;
+    private int difficulty;
+    
+    /**
+     * Stores the words recently served by this game, or {@code null} if words
+     * may repeat.
+     */
+    private RecentWords recentWords;
     
     /**
      * Stores the word that is being guessed.
@@ -62,9 +112,49 @@ public final class Hangman {
     private String currentWord;
 
     /**
-     * Stores the characters have already been guessed. This {@code String}
-     * stores all guesses, including those that are incorrect as well as those
-     * that are correct.
+     * Stores the {@code Word} that is being guessed, whose letter-position
+     * table is used to reveal correct guesses.
+     */
+    private Word word;
+
+    /**
+     * Stores the reveal buffer, which holds the characters of
+     * {@link #currentWord} that have been guessed correctly, and
+     * {@link #GUESS_DELIMITER} elsewhere.
+     */
+    private char[] revealed;
+
+    /**
+     * Stores the amount of characters of {@link #currentWord} that have not
+     * been revealed.
+     */
+    private int hidden;
+
+    /**
+     * Stores the characters have already been guessed. This buffer stores all
+     * guesses, including those that are incorrect as well as those that are
+     * correct, and is reused between games so that guessing does not allocate.
+     */
+    private final StringBuilder guessed = new StringBuilder(MAX_BATCH_SIZE);
+
+    /**
+     * Stores a mask of the letters {@code 'a'} to {@code 'z'} that have been
+     * guessed on their own.
+     */
+    private int guessedMask;
+
+    /**
+     * Stores every guess that is not a single letter {@code 'a'} to
+     * {@code 'z'}, such as whole words. These are tracked apart from 
+     * {@link #guessedMask}, so that guessing a word never marks its letters as
+     * guessed.
+     */
+    private final List<String> otherGuesses = new ArrayList<>();
+
+    /**
+     * Stores the contents of {@link #guessed} as a {@code String}. This
+     * {@code String} is built when it is requested, and is {@code null}
+     * whenever it is out of date.
      */
     private String previouslyGuessed;
 
@@ -73,29 +163,87 @@ public final class Hangman {
      * {@link #currentWord}). In other words, this {@code String} stores the 
      * union between the current word and the characters that have already been
      * guessed.
+     * 
+     * <p> This {@code String} is built from {@link #revealed} when it is
+     * requested, and is {@code null} whenever it is out of date.
      */
     private String correctGuesses;
 
     /**
      * Stores the amount of character guesses that are left in this game. This
-     * value is concurrent with the correct image in the {@link #images} for 
-     * this instance and may be used as an index value when retrieving values 
-     * from the array for display purposes.
+     * value may be used by a user interface to select the image that displays
+     * the game.
      */
     private int guessesLeft;
 
-    /**
-     * Stores the current image repository for use in a graphical interface.
-     */
-    private ImageIcon[] images;
-
     /**
      * Initializes a new game with medium difficulty 
      * ({@link #MEDIUM_DIFFICULTY}).
      */
     public Hangman() {
-        // TODO - Image reading, read and categorize words from a file
-        resetGame(MEDIUM_DIFFICULTY);
+        this(DictionaryCatalogue.defaultCatalogue()
+                .get(DictionaryCatalogue.ENGLISH), MEDIUM_DIFFICULTY);
+    }
+
+    /**
+     * Initializes a new game using the given dictionary and difficulty.
+     *
+     * @param dictionary The dictionary from which to select words.
+     * @param difficulty The difficulty setting to use for this game.
+     */
+    public Hangman(Dictionary dictionary, int difficulty) {
+        resetGame(dictionary, difficulty);
+    }
+
+    /**
+     * Initializes a new game using the given dictionary and difficulty, which
+     * avoids the given recently served words, starting with its first word.
+     *
+     * @param dictionary The dictionary from which to select words.
+     * @param difficulty The difficulty setting to use for this game.
+     * @param recentWords The recently served words, or {@code null} to allow
+     *        words to repeat.
+     * @see #setRecentWords(RecentWords)
+     */
+    public Hangman(Dictionary dictionary, int difficulty,
+            RecentWords recentWords) {
+        this.recentWords = recentWords;
+        resetGame(dictionary, difficulty);
+    }
+
+    /**
+     * Initializes a game that is already in progress. This constructor is used
+     * to restore games from their snapshot form. The characters revealed by
+     * the given guesses are revealed again.
+     *
+     * @param dictionary The dictionary from which to select later words.
+     * @param difficulty The difficulty setting of the game.
+     * @param currentWord The word that is being guessed.
+     * @param guessedMask The mask of the letters guessed on their own.
+     * @param otherGuesses The other guesses that have been made, in order.
+     * @param guessesLeft The amount of incorrect guesses remaining.
+     * @see GameSnapshot
+     */
+    Hangman(Dictionary dictionary, int difficulty, String currentWord,
+            int guessedMask, List<String> otherGuesses, int guessesLeft) {
+        this.dictionary = dictionary;
+        this.difficulty = difficulty;
+        resetGame(Word.ofSanitized(currentWord));
+        for (int bits = guessedMask; bits != 0; bits &= bits - 1) {
+            char c = (char) ('a' + Integer.numberOfTrailingZeros(bits));
+            appendGuessed(c);
+            revealLetter(c);
+        }
+        for (String g : otherGuesses) {
+            appendGuessed(g);
+            if (g.length() == 1) {
+                revealLetter(g.charAt(0));
+            }
+            else {
+                insertCorrectGuess(g);
+            }
+        }
+        this.guessesLeft = guessesLeft;
     }
 
     /**
@@ -105,11 +253,79 @@ public final class Hangman {
      * @param difficulty The difficulty setting to use for this game.
      */
     public void resetGame(int difficulty) {
-        // TODO - Difficulty settings, game variable reset
+        resetGame(dictionary, difficulty);
+    }
+
+    /**
+     * Initializes a new game with the given dictionary and difficulty. This
+     * method resets all game-related attributes to their default state.
+     *
+     * @param dictionary The dictionary from which to select the new word.
+     * @param difficulty The difficulty setting to use for this game.
+     */
+    public void resetGame(Dictionary dictionary, int difficulty) {
+        this.dictionary = dictionary;
+        this.difficulty = difficulty;
+        resetGame(recentWords == null
+                ? dictionary.randomWord(difficulty)
+                : dictionary.randomWord(difficulty, recentWords));
+    }
+
+    /**
+     * Initializes a new game with the given word, keeping the dictionary and
+     * difficulty of this instance. This method resets all game-related 
+     * attributes to their default state.
+     *
+     * @param word The word to guess in the new game.
+     */
+    public void resetGame(Word word) {
+        this.word = word;
+        currentWord = word.characters();
+        guessed.setLength(0);
+        guessedMask = 0;
+        otherGuesses.clear();
+        previouslyGuessed = null;
+        if (revealed == null || revealed.length != currentWord.length()) {
+            revealed = new char[currentWord.length()];
+        }
+        Arrays.fill(revealed, GUESS_DELIMITER.charAt(0));
+        hidden = revealed.length;
+        correctGuesses = null;
+        guessesLeft = maxGuesses();
     }
 
 // Getters and setters (yay, encapsulation)
 
+    /**
+     * Returns the dictionary that this game selects words from.
+     *
+     * @return The dictionary of this instance.
+     */
+    public Dictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Returns the difficulty setting of the current game.
+     *
+     * @return The difficulty of this instance.
+     */
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Sets the words recently served to the player of this game, which are
+     * avoided when a new word is selected. The given instance may be shared
+     * between games to avoid repeats globally.
+     *
+     * @param recentWords The recently served words, or {@code null} to allow
+     *        words to repeat.
+     */
+    public void setRecentWords(RecentWords recentWords) {
+        this.recentWords = recentWords;
+    }
+
     /**
      * Returns the current word for this game instance.
      *
@@ -119,6 +335,15 @@ public final class Hangman {
         return currentWord;
     }
 
+    /**
+     * Returns the {@code Word} being guessed in this game instance.
+     *
+     * @return The current word of this instance.
+     */
+    public Word getWord() {
+        return word;
+    }
+
     /**
      * Returns a {@code String} containing all the characters that have already
      * been guessed in this game.
@@ -126,9 +351,35 @@ public final class Hangman {
      * @return The characters that have already been guessed.
      */
     public String getPreviouslyGuessed() {
+        if (previouslyGuessed == null) {
+            previouslyGuessed = guessed.toString();
+        }
         return previouslyGuessed;
     }
 
+    /**
+     * Returns a mask of the letters that have already been guessed in this
+     * game, where bit {@code 0} represents {@code 'a'} and bit {@code 25} 
+     * represents {@code 'z'}. Unlike {@link #getPreviouslyGuessed()}, this
+     * method never allocates.
+     *
+     * @return A mask of the letters that have already been guessed.
+     */
+    public int getGuessedMask() {
+        return guessedMask;
+    }
+
+    /**
+     * Returns an unmodifiable view of the guesses that are not single letters
+     * {@code 'a'} to {@code 'z'}, in the order that they were made.
+     *
+     * @return The other guesses made in this game.
+     * @see GameSnapshot
+     */
+    List<String> otherGuesses() {
+        return Collections.unmodifiableList(otherGuesses);
+    }
+
     /**
      * Returns a {@code String} containing all the characters that have been
      * guessed correctly in this game instance.
@@ -136,6 +387,9 @@ public final class Hangman {
      * @return The characters that have already been guessed correctly.
      */
     public String getCorrectGuesses() {
+        if (correctGuesses == null) {
+            correctGuesses = new String(revealed);
+        }
         return correctGuesses;
     }
     
@@ -148,15 +402,6 @@ public final class Hangman {
         return guessesLeft;
     }
 
-    /**
-     * Returns the images of this game instance.
-     *
-     * @return The images of this instance.
-     */
-    public ImageIcon[] images() {
-        return Arrays.copyOf(images, images.length);
-    }
-    
 // Game-state methods    
     
     /**
@@ -176,7 +421,7 @@ public final class Hangman {
      * @return The maximum amount of guesses for this game instance.
      */
     public int maxGuesses() {
-        return images.length - 1;
+        return DEFAULT_MAX_GUESSES;
     }
     
     /**
@@ -189,7 +434,7 @@ public final class Hangman {
      * @return {@code true} if the game has been won, {@code false} otherwise.
      */
     public boolean hasWon() {
-        return correctGuesses.equals(currentWord) && guessesLeft > 0;
+        return hidden == 0 && guessesLeft > 0;
     }
     
 // Gameplay methods   
@@ -227,26 +472,294 @@ public final class Hangman {
      *     <li> The guess is not in the set of already guessed characters.
      *   </ul>
      * 
+     * <p> A guess of a single letter is rejected if that letter was guessed 
+     * on its own before. A longer guess is rejected only if the exact same 
+     * guess was made before; it reveals every occurrence of itself, but does 
+     * not mark its letters as guessed, so they may still be guessed singly.
+     * 
      * @param guess The character to attempt to guess for.
      * @return {@code true} if the guess was correct, {@code false} otherwise.
      */
     public boolean makeGuess(String guess) {
         String g = Word.sanitizeString(guess);
-        // TODO - Add logic for making guesses as delineated above.
+        if (g.isEmpty() || !canGuess() || hasWon()
+                || hasGuessed(g)) {
+            return false;
+        }
+        appendGuessed(g);
+        if (g.length() == 1 ? revealLetter(g.charAt(0)) : insertCorrectGuess(g)) {
+            return true;
+        }
+        guessesLeft--;
         return false;
     }
     
+    /**
+     * Applies the given letters as guesses, in order, stopping as soon as the
+     * game is won or lost. Each letter is processed as if it were passed to
+     * {@link #makeGuess(String)}, but validation and state updates are done
+     * once for the whole batch.
+     * 
+     * <p> The outcome of every applied guess is packed into the returned
+     * value, which may be decoded using {@link #batchCount(long)}, 
+     * {@link #batchOutcome(long, int)}, {@link #batchWon(long)}, and
+     * {@link #batchLost(long)}.
+     * 
+     * @param guesses The letters to guess, in order.
+     * @return The packed outcomes of the guesses.
+     * @throws IllegalArgumentException If more than {@link #MAX_BATCH_SIZE}
+     *         guesses are given.
+     */
+    public long makeGuesses(CharSequence guesses) {
+        int n = guesses.length();
+        if (n > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("guesses : " + n + " > "
+                    + MAX_BATCH_SIZE + " !");
+        }
+        long result = 0;
+        int count = 0;
+        while (count < n && guessesLeft > 0 && hidden > 0) {
+            result |= (long) applyGuess(guesses.charAt(count)) << (2 * count);
+            count++;
+        }
+        return batchResult(result, count);
+    }
+    
+    /**
+     * Applies every letter in the given mask as a guess, in alphabetical
+     * order, stopping as soon as the game is won or lost. Bit {@code 0} of the
+     * mask represents {@code 'a'} and bit {@code 25} represents {@code 'z'}.
+     * 
+     * @param mask The letters to guess.
+     * @return The packed outcomes of the guesses.
+     * @see #makeGuesses(CharSequence)
+     */
+    public long makeGuesses(int mask) {
+        long result = 0;
+        int count = 0;
+        for (int bits = mask & ((1 << MAX_BATCH_SIZE) - 1);
+                bits != 0 && guessesLeft > 0 && hidden > 0; bits &= bits - 1) {
+            char c = (char) ('a' + Integer.numberOfTrailingZeros(bits));
+            result |= (long) applyGuess(c) << (2 * count);
+            count++;
+        }
+        return batchResult(result, count);
+    }
+    
+    /**
+     * Applies a single letter of a batch as a guess.
+     * 
+     * @param c The letter to guess.
+     * @return The outcome of the guess.
+     */
+    private int applyGuess(char c) {
+        if (Character.isWhitespace(c)) {
+            return GUESS_REJECTED;
+        }
+        c = Word.sanitizeCharacter(c);
+        if (hasGuessed(c)) {
+            return GUESS_REJECTED;
+        }
+        appendGuessed(c);
+        if (revealLetter(c)) {
+            return GUESS_HIT;
+        }
+        guessesLeft--;
+        return GUESS_MISSED;
+    }
+    
+    /**
+     * Packs the amount of guesses applied by a batch and the state of the
+     * game after it into the outcomes of its guesses.
+     * 
+     * @param result The packed outcomes of the guesses.
+     * @param count The amount of guesses applied.
+     * @return The result of the batch.
+     */
+    private long batchResult(long result, int count) {
+        result |= (long) count << BATCH_COUNT_SHIFT;
+        if (hasWon()) {
+            result |= BATCH_WON;
+        }
+        else if (!canGuess()) {
+            result |= BATCH_LOST;
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the amount of guesses that were applied by a batch.
+     * 
+     * @param result The result of a batch.
+     * @return The amount of guesses applied.
+     */
+    public static int batchCount(long result) {
+        return (int) (result >>> BATCH_COUNT_SHIFT) & 0x1f;
+    }
+    
+    /**
+     * Returns the outcome of the guess at the given index within a batch,
+     * which is one of {@link #GUESS_REJECTED}, {@link #GUESS_MISSED}, or
+     * {@link #GUESS_HIT}.
+     * 
+     * @param result The result of a batch.
+     * @param index The index of the guess, which must be less than the
+     *        {@linkplain #batchCount(long) amount of guesses applied}.
+     * @return The outcome of the guess.
+     */
+    public static int batchOutcome(long result, int index) {
+        if (index < 0 || index >= batchCount(result)) {
+            throw new IndexOutOfBoundsException("index : " + index);
+        }
+        return (int) (result >>> (2 * index)) & 0x3;
+    }
+    
+    /**
+     * Returns {@code true} if the game was won by the end of a batch,
+     * {@code false} otherwise.
+     * 
+     * @param result The result of a batch.
+     * @return {@code true} if the game was won, {@code false} otherwise.
+     */
+    public static boolean batchWon(long result) {
+        return (result & BATCH_WON) != 0;
+    }
+    
+    /**
+     * Returns {@code true} if the game was lost by the end of a batch,
+     * {@code false} otherwise.
+     * 
+     * @param result The result of a batch.
+     * @return {@code true} if the game was lost, {@code false} otherwise.
+     */
+    public static boolean batchLost(long result) {
+        return (result & BATCH_LOST) != 0;
+    }
+    
     /**
      * Places the given guess in the set of correct guesses at any and all index
      * values that it occurs in the current word, all while maintaining these
      * index values between the two {@code String}s.
      * 
+     * <p> Single letters are revealed using {@link #revealLetter(char)}; this
+     * method handles guesses of any length by scanning the current word.
+     * 
      * @param guess The {@code String} to add to the set of correct guesses 
      *        based on its index occurrence in the current word.
+     * @return {@code true} if the guess occurs in the current word, 
+     *         {@code false} otherwise.
+     */
+    private boolean insertCorrectGuess(String guess) {
+        int index = currentWord.indexOf(guess);
+        if (index < 0) {
+            return false;
+        }
+        while (index >= 0) {
+            for (int i = 0; i < guess.length(); i++) {
+                reveal(index + i, guess.charAt(i));
+            }
+            index = currentWord.indexOf(guess, index + 1);
+        }
+        correctGuesses = null;
+        return true;
+    }
+    
+    /**
+     * Places the given letter in the set of correct guesses at every index
+     * that it occurs in the current word. For letters {@code 'a'} to 
+     * {@code 'z'}, this is a single lookup in the letter-position table of the
+     * current word followed by a write for every bit of the resulting mask.
+     * 
+     * @param c The letter to reveal.
+     * @return {@code true} if the letter occurs in the current word, 
+     *         {@code false} otherwise.
+     * @see Word#positionsOf(char)
+     */
+    private boolean revealLetter(char c) {
+        if (c >= 'a' && c <= 'z' && word.hasPositionTable()) {
+            int mask = word.positionsOf(c);
+            if (mask == 0) {
+                return false;
+            }
+            for (; mask != 0; mask &= mask - 1) {
+                reveal(Integer.numberOfTrailingZeros(mask), c);
+            }
+            correctGuesses = null;
+            return true;
+        }
+        return insertCorrectGuess(String.valueOf(c));
+    }
+    
+    /**
+     * Returns {@code true} if the given guess has already been made, 
+     * {@code false} otherwise. A guess of several characters is only 
+     * considered made if that exact guess was made before.
+     * 
+     * @param g The sanitized characters of the guess.
+     * @return {@code true} if the guess has already been made.
+     */
+    private boolean hasGuessed(String g) {
+        return g.length() == 1 
+                ? hasGuessed(g.charAt(0))
+                : otherGuesses.contains(g);
+    }
+    
+    /**
+     * Returns {@code true} if the given character has already been guessed on
+     * its own, {@code false} otherwise.
+     * 
+     * @param c The sanitized character of the guess.
+     * @return {@code true} if the character has already been guessed.
+     */
+    private boolean hasGuessed(char c) {
+        return c >= 'a' && c <= 'z' 
+                ? (guessedMask & (1 << (c - 'a'))) != 0
+                : otherGuesses.contains(String.valueOf(c));
+    }
+    
+    /**
+     * Records the given guess.
+     * 
+     * @param g The sanitized characters of the guess.
+     */
+    private void appendGuessed(String g) {
+        if (g.length() == 1) {
+            appendGuessed(g.charAt(0));
+            return;
+        }
+        guessed.append(g);
+        otherGuesses.add(g);
+        previouslyGuessed = null;
+    }
+    
+    /**
+     * Records the given single-character guess.
+     * 
+     * @param c The sanitized character of the guess.
+     */
+    private void appendGuessed(char c) {
+        guessed.append(c);
+        if (c >= 'a' && c <= 'z') {
+            guessedMask |= 1 << (c - 'a');
+        }
+        else {
+            otherGuesses.add(String.valueOf(c));
+        }
+        previouslyGuessed = null;
+    }
+    
+    /**
+     * Writes the given character to the given index of the reveal buffer,
+     * keeping count of the characters that remain hidden.
+     * 
+     * @param index The index to reveal.
+     * @param c The character of the current word at that index.
      */
-    private void insertCorrectGuess(String guess) {
-        // TODO - Insert correct guesses into the correctGuesses String to 
-        // fulfill the contract given by this method's Javadoc
+    private void reveal(int index, char c) {
+        if (revealed[index] != c) {
+            revealed[index] = c;
+            hidden--;
+        }
     }
     
 }
@@ -1,5 +1,7 @@
 package hangman;
 
+import java.awt.BorderLayout;
+import java.awt.Color;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Font;
@@ -11,6 +13,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.AbstractButton;
@@ -130,11 +135,27 @@ public final class HangmanGUI
 
 // Game variables
     
+    /**
+     * The amount of most recent words that are not served again.
+     */
+    private static final int RECENT_WORDS = 1024;
+    
     /**
      * Stores the game manager for this user interface.
      */
     private Hangman game;
     
+    /**
+     * Stores the words recently served by this user interface, which is shared
+     * by every game it starts so that words do not repeat soon after.
+     */
+    private final RecentWords recentWords = new RecentWords(RECENT_WORDS);
+    
+    /**
+     * Stores the images that display the state of the game.
+     */
+    private HangmanImages images;
+    
     /**
      * Stores the amount of games that this user interface has played.
      */
@@ -277,6 +298,37 @@ public final class HangmanGUI
      */
     private JPanel keyboardPanel;
     
+    /**
+     * Displays the best next letters and the amount of words that remain
+     * consistent with the current game.
+     */
+    private JLabel hintLabel;
+    
+    /**
+     * The amount of letters suggested by the hint display.
+     */
+    private static final int HINT_LETTERS = 3;
+    
+    /**
+     * The color of keyboard buttons whose letter is suggested by the hint.
+     */
+    private static final Color HINT_COLOR = new Color(0, 128, 0);
+    
+    /**
+     * Computes hints off of the event dispatch thread. A single daemon thread
+     * is used, so at most one hint is computed at a time.
+     */
+    private final ExecutorService hintExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hangman-hints");
+        t.setDaemon(true);
+        return t;
+    });
+    
+    /**
+     * Stores the hint computation that is in progress, if any.
+     */
+    private Future<?> pendingHint;
+    
     /**
      * Stores the text of the buttons attached to the keyboard {@code JPanel}.
      *
@@ -308,6 +360,7 @@ public final class HangmanGUI
         newWordButton = new JButton();
         giveUpButton = new JButton();
         keyboardPanel = new JPanel();
+        hintLabel = new JLabel(" ");
         
     // keyboardPanel setup
         
@@ -360,8 +413,11 @@ public final class HangmanGUI
         
         // TODO - Add your component setup code here.
         
+        hintLabel.setBorder(BorderFactory.createTitledBorder("Hint"));
+        
         // Don't forget to add the panels you set up to this object.
         add(keyboardPanel);
+        add(hintLabel, BorderLayout.SOUTH);
         
         // Some housekeeping to make everything visible.
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
@@ -418,10 +474,16 @@ public final class HangmanGUI
      * Resets the game to its default state.
      */
     private void resetGame() {
-        game = new Hangman();
+        game = new Hangman(DictionaryCatalogue.defaultCatalogue()
+                .get(DictionaryCatalogue.ENGLISH), Hangman.MEDIUM_DIFFICULTY,
+                recentWords);
+        if (images == null) {
+            images = new HangmanImages(game.maxGuesses());
+        }
         gamesPlayed = 0;
         gamesWon = 0;
         setStateOfAll(true);
+        requestHint();
     }
     
     /**
@@ -458,8 +520,57 @@ public final class HangmanGUI
      * @param guess The character to attempt to guess.
      */
     private void makeMove(String guess) {
-        // TODO - Add logic that delegates the given move to this instance's
-        // Hangman game object
+        game.makeGuess(guess);
+        updateCurrentLabel();
+        updateImages();
+        updateStatistics();
+        checkGameState();
+        requestHint();
+    }
+
+    /**
+     * Starts computing a hint for the current state of the game on the hint
+     * executor, cancelling any computation that is still in progress. The
+     * game state is read on the event dispatch thread, and the result is
+     * applied back on it in a single update.
+     */
+    private void requestHint() {
+        if (pendingHint != null) {
+            pendingHint.cancel(true);
+        }
+        final List<Word> words = game.getDictionary().words(game.getDifficulty());
+        final String pattern = game.getCorrectGuesses();
+        final int guessed = game.getGuessedMask();
+        final Hangman current = game;
+        hintLabel.setText("Thinking...");
+        pendingHint = hintExecutor.submit(() -> {
+            Hint hint = Hint.compute(words, pattern, guessed, HINT_LETTERS);
+            if (hint != null) {
+                SwingUtilities.invokeLater(() -> {
+                    // Discards hints for states that have since changed
+                    if (game == current && pattern.equals(game.getCorrectGuesses())
+                            && guessed == game.getGuessedMask()) {
+                        applyHint(hint);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Displays the given hint and highlights its letters on the keyboard.
+     *
+     * @param hint The hint to display.
+     */
+    private void applyHint(Hint hint) {
+        String letters = hint.letters().toUpperCase();
+        hintLabel.setText("Try " + String.join(" ", letters.split(""))
+                + " (" + hint.candidates() + " possible words)");
+        for (int i = 0; i < keyboardPanel.getComponentCount(); i++) {
+            AbstractButton button = (AbstractButton) keyboardPanel.getComponent(i);
+            boolean suggested = letters.contains(button.getText());
+            button.setForeground(suggested ? HINT_COLOR : null);
+        }
     }
 
     /**
@@ -486,8 +597,7 @@ public final class HangmanGUI
      * Updates the image to reflect the current state of the game.
      */
     private void updateImages() {
-        // TODO - Add code that updates the images based on the amount of 
-        // incorrect guesses left.
+        imageLabel.setIcon(images.imageFor(game));
     }
 
     /**
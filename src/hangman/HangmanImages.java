@@ -0,0 +1,60 @@
+package hangman;
+
+import java.util.Arrays;
+import javax.swing.ImageIcon;
+
+/**
+ * The {@code HangmanImages} class provides for the images used to display the
+ * state of a game of "Hangman" in a graphical interface. There is one image
+ * for every amount of incorrect guesses that a game may have left.
+ *
+ * <p> This class keeps the desktop dependencies of the user interface out of
+ * {@link Hangman}, so that the game core may be used without loading AWT or
+ * Swing.
+ *
+ * @author Oliver Abdulrahim
+ * @see HangmanGUI
+ */
+public final class HangmanImages {
+
+    /**
+     * Stores the image for every amount of guesses left, indexed by that
+     * amount.
+     */
+    private final ImageIcon[] images;
+
+    /**
+     * Constructs a {@code HangmanImages} for games that allow the given amount
+     * of incorrect guesses.
+     *
+     * @param maxGuesses The maximum amount of incorrect guesses in a game.
+     * @see Hangman#maxGuesses()
+     */
+    public HangmanImages(int maxGuesses) {
+        if (maxGuesses < 0) {
+            throw new IllegalArgumentException("maxGuesses : " + maxGuesses + " < 0 !");
+        }
+        // TODO - Image reading
+        images = new ImageIcon[maxGuesses + 1];
+    }
+
+    /**
+     * Returns the image that displays the current state of the given game.
+     *
+     * @param game The game to display.
+     * @return The image for the amount of guesses the game has left.
+     */
+    public ImageIcon imageFor(Hangman game) {
+        return images[Math.min(game.getGuessesLeft(), images.length - 1)];
+    }
+
+    /**
+     * Returns every image, indexed by the amount of guesses left.
+     *
+     * @return The images of this instance.
+     */
+    public ImageIcon[] images() {
+        return Arrays.copyOf(images, images.length);
+    }
+
+}
@@ -0,0 +1,256 @@
+package hangman;
+
+import java.util.List;
+
+/**
+ * The {@code Hint} class provides for a suggestion of the best letters to guess
+ * next in a game of "Hangman," based on the words of a dictionary that are
+ * still consistent with the guesses made so far.
+ *
+ * <p> Objects of this class are <em>immutable</em>.
+ *
+ * @author Oliver Abdulrahim
+ * @see GuessStrategy#solver()
+ */
+public final class Hint {
+
+    /**
+     * The amount of words examined between checks for interruption.
+     */
+    private static final int INTERRUPT_CHECK_INTERVAL = 4096;
+
+    /**
+     * Stores the suggested letters, best first.
+     */
+    private final String letters;
+
+    /**
+     * Stores the amount of words still consistent with the game.
+     */
+    private final int candidates;
+
+    /**
+     * Constructs a {@code Hint} with the given letters and candidate count.
+     *
+     * @param letters The suggested letters, best first.
+     * @param candidates The amount of words consistent with the game.
+     */
+    private Hint(String letters, int candidates) {
+        this.letters = letters;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Computes a hint for the given game.
+     *
+     * @param game The game to compute a hint for.
+     * @param count The maximum amount of letters to suggest.
+     * @return A hint for the game, or {@code null} if the calling thread was
+     *         interrupted.
+     */
+    public static Hint of(Hangman game, int count) {
+        return compute(game.getDictionary().words(game.getDifficulty()),
+                game.getCorrectGuesses(), game.getGuessedMask(), count);
+    }
+
+    /**
+     * Computes a hint from the given words and game state. A word is a
+     * candidate if it has the same length as the pattern, matches every
+     * revealed character of the pattern, and has no guessed letter at a
+     * hidden position. Unguessed letters are ranked by the amount of
+     * candidates that contain them.
+     *
+     * <p> This method checks for interruption periodically, so that stale
+     * computations may be cancelled. Words stored off the heap are examined
+     * in place, without creating {@code Word} objects.
+     *
+     * @param words The words to consider.
+     * @param pattern The characters guessed correctly, with {@code '_'} at
+     *        hidden positions.
+     * @param guessed The mask of guessed letters.
+     * @param count The maximum amount of letters to suggest.
+     * @return A hint for the given state, or {@code null} if the calling
+     *         thread was interrupted.
+     * @see Hangman#getCorrectGuesses()
+     */
+    public static Hint compute(List<Word> words, String pattern, int guessed,
+            int count) {
+        if (words instanceof OffHeapWordList) {
+            return compute((OffHeapWordList) words, pattern, guessed, count);
+        }
+        int[] counts = new int[26];
+        int candidates = 0;
+        int examined = 0;
+        for (Word w : words) {
+            if (++examined % INTERRUPT_CHECK_INTERVAL == 0
+                    && Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            if (w.length() != pattern.length() || !matches(w, pattern, guessed)) {
+                continue;
+            }
+            candidates++;
+            count(counts, w.letterMask() & ~guessed);
+        }
+        return rank(counts, candidates, guessed, count);
+    }
+
+    /**
+     * Computes a hint from the given off-heap words and game state, reading
+     * the characters and letter masks of the words in place.
+     *
+     * @param words The words to consider.
+     * @param pattern The characters guessed correctly.
+     * @param guessed The mask of guessed letters.
+     * @param count The maximum amount of letters to suggest.
+     * @return A hint for the given state, or {@code null} if the calling
+     *         thread was interrupted.
+     * @see #compute(List, String, int, int)
+     */
+    private static Hint compute(OffHeapWordList words, String pattern,
+            int guessed, int count) {
+        int[] counts = new int[26];
+        int candidates = 0;
+        for (int i = 0; i < words.size(); i++) {
+            if ((i + 1) % INTERRUPT_CHECK_INTERVAL == 0
+                    && Thread.currentThread().isInterrupted()) {
+                return null;
+            }
+            if (words.length(i) != pattern.length()
+                    || !matches(words, i, pattern, guessed)) {
+                continue;
+            }
+            candidates++;
+            count(counts, words.letterMask(i) & ~guessed);
+        }
+        return rank(counts, candidates, guessed, count);
+    }
+
+    /**
+     * Increments the count of every letter in the given mask.
+     *
+     * @param counts The counts of every letter.
+     * @param letters The mask of letters to count.
+     */
+    private static void count(int[] counts, int letters) {
+        for (int bits = letters; bits != 0; bits &= bits - 1) {
+            counts[Integer.numberOfTrailingZeros(bits)]++;
+        }
+    }
+
+    /**
+     * Returns a hint suggesting the unguessed letters with the highest counts.
+     *
+     * @param counts The amount of candidates that contain every letter.
+     * @param candidates The amount of candidates.
+     * @param guessed The mask of guessed letters.
+     * @param count The maximum amount of letters to suggest.
+     * @return A hint for the given counts.
+     */
+    private static Hint rank(int[] counts, int candidates, int guessed,
+            int count) {
+        StringBuilder sb = new StringBuilder(count);
+        int remaining = ~guessed & ((1 << 26) - 1);
+        while (sb.length() < count && remaining != 0) {
+            int best = -1;
+            for (int bits = remaining; bits != 0; bits &= bits - 1) {
+                int i = Integer.numberOfTrailingZeros(bits);
+                if (best < 0 || counts[i] > counts[best]) {
+                    best = i;
+                }
+            }
+            sb.append((char) ('a' + best));
+            remaining &= ~(1 << best);
+        }
+        return new Hint(sb.toString(), candidates);
+    }
+
+    /**
+     * Returns {@code true} if the given word is consistent with the given
+     * pattern and guesses, {@code false} otherwise.
+     *
+     * @param w The word to test, which has the same length as the pattern.
+     * @param pattern The characters guessed correctly.
+     * @param guessed The mask of guessed letters.
+     * @return {@code true} if the word is a candidate, {@code false}
+     *         otherwise.
+     */
+    private static boolean matches(Word w, String pattern, int guessed) {
+        String s = w.characters();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            char p = pattern.charAt(i);
+            if (p == '_' ? isGuessed(guessed, c) : c != p) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the word at the given index of an off-heap list
+     * is consistent with the given pattern and guesses, {@code false}
+     * otherwise.
+     *
+     * @param words The list containing the word.
+     * @param index The index of the word, which has the same length as the
+     *        pattern.
+     * @param pattern The characters guessed correctly.
+     * @param guessed The mask of guessed letters.
+     * @return {@code true} if the word is a candidate, {@code false}
+     *         otherwise.
+     */
+    private static boolean matches(OffHeapWordList words, int index,
+            String pattern, int guessed) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = words.charAt(index, i);
+            char p = pattern.charAt(i);
+            if (p == '_' ? isGuessed(guessed, c) : c != p) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the given character is present in the given
+     * letter mask, {@code false} otherwise.
+     *
+     * @param mask The letter mask to test.
+     * @param c The character to test for.
+     * @return {@code true} if the character is in the mask, {@code false}
+     *         otherwise.
+     */
+    private static boolean isGuessed(int mask, char c) {
+        return c >= 'a' && c <= 'z' && (mask & (1 << (c - 'a'))) != 0;
+    }
+
+    /**
+     * Returns the suggested letters, best first.
+     *
+     * @return The suggested letters.
+     */
+    public String letters() {
+        return letters;
+    }
+
+    /**
+     * Returns the amount of words still consistent with the game.
+     *
+     * @return The amount of candidate words.
+     */
+    public int candidates() {
+        return candidates;
+    }
+
+    /**
+     * Returns a {@code String} representation of this {@code Hint}.
+     *
+     * @return The suggested letters and candidate count.
+     */
+    @Override
+    public String toString() {
+        return letters + " (" + candidates + " words)";
+    }
+
+}
@@ -0,0 +1,462 @@
+package hangman;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The {@code LetterStatistics} class contains letter frequency analytics for a
+ * word list, including global, per-length and positional letter counts,
+ * bigram counts, and the entropy of every word.
+ *
+ * <p> Statistics are computed over the canonical words of a
+ * {@linkplain WordListNormalizer normalized} word list, so that duplicate and
+ * rejected lines are not counted, and so that word entropies are indexed in
+ * the same order as {@link WordListNormalizer#words()}. The words are split
+ * into chunks, each chunk is analyzed in parallel, and the partial results
+ * are merged once every chunk is done. The result may be saved as a small
+ * binary artefact and loaded at startup instead of being recomputed.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class LetterStatistics {
+
+    /**
+     * The amount of letters that are counted.
+     */
+    public static final int LETTERS = 26;
+
+    /**
+     * Lengths and positions greater than or equal to this value are counted
+     * together with the last one.
+     */
+    public static final int MAX_LENGTH = 32;
+
+    /**
+     * The amount of word entropy units per bit. Entropies are stored as one
+     * unsigned byte per word, and the largest possible entropy of a word,
+     * {@code log2(26)}, is below {@code 255 / ENTROPY_SCALE}.
+     */
+    private static final int ENTROPY_SCALE = 32;
+
+    /**
+     * Identifies the binary format of saved statistics.
+     */
+    private static final int MAGIC = 0x484d4c53;
+
+    /**
+     * The version of the binary format of saved statistics.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * The amount of words analyzed by a single task.
+     */
+    private static final int CHUNK_SIZE = 16384;
+
+    /**
+     * Stores the amount of occurrences of every letter.
+     */
+    private final long[] letters = new long[LETTERS];
+
+    /**
+     * Stores the amount of occurrences of every letter, by word length.
+     */
+    private final long[] lengthLetters = new long[MAX_LENGTH * LETTERS];
+
+    /**
+     * Stores the amount of occurrences of every letter, by position.
+     */
+    private final long[] positionLetters = new long[MAX_LENGTH * LETTERS];
+
+    /**
+     * Stores the amount of occurrences of every pair of adjacent letters.
+     */
+    private final long[] bigrams = new long[LETTERS * LETTERS];
+
+    /**
+     * Stores the entropy of every word in canonical order, in units of
+     * {@code 1 / ENTROPY_SCALE} bits.
+     */
+    private byte[] entropies;
+
+    /**
+     * Stores the amount of words analyzed.
+     */
+    private int words;
+
+    /**
+     * Constructs empty {@code LetterStatistics}.
+     */
+    private LetterStatistics() {
+        this.entropies = new byte[0];
+    }
+
+    /**
+     * Computes statistics for the canonical words of the given word list file.
+     *
+     * @param file The word list, which contains one word per line.
+     * @return The statistics of the word list.
+     * @throws IOException If the file could not be read.
+     * @see WordListNormalizer#normalize(Path)
+     */
+    public static LetterStatistics compute(Path file) throws IOException {
+        return compute(WordListNormalizer.normalize(file));
+    }
+
+    /**
+     * Computes statistics for the canonical words of the lines of the given
+     * reader.
+     *
+     * @param reader Supplies one word per line.
+     * @return The statistics of the lines read.
+     * @throws IOException If the reader could not be read.
+     * @see WordListNormalizer#normalize(BufferedReader)
+     */
+    public static LetterStatistics compute(BufferedReader reader)
+            throws IOException {
+        return compute(WordListNormalizer.normalize(reader));
+    }
+
+    /**
+     * Computes statistics for the canonical words of the given normalized word
+     * list. The entropy of the word at index {@code i} of
+     * {@link WordListNormalizer#words()} is {@link #entropy(int) entropy(i)}.
+     *
+     * @param normalized The normalized word list.
+     * @return The statistics of the word list.
+     */
+    public static LetterStatistics compute(WordListNormalizer normalized) {
+        List<Word> words = normalized.words();
+        List<ForkJoinTask<LetterStatistics>> tasks = new ArrayList<>();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (int from = 0; from < words.size(); from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, words.size());
+            tasks.add(pool.submit(analyzer(words.subList(from, to))));
+        }
+        LetterStatistics total = new LetterStatistics();
+        total.entropies = new byte[words.size()];
+        for (ForkJoinTask<LetterStatistics> task : tasks) {
+            LetterStatistics partial = task.join();
+            System.arraycopy(partial.entropies, 0, total.entropies,
+                    total.words, partial.words);
+            total.merge(partial);
+        }
+        return total;
+    }
+
+    /**
+     * Returns a task that analyzes the given words.
+     *
+     * @param words The words to analyze.
+     * @return A task that computes the statistics of the given words.
+     */
+    private static ForkJoinTask<LetterStatistics> analyzer(List<Word> words) {
+        return ForkJoinTask.adapt(() -> {
+            LetterStatistics s = new LetterStatistics();
+            s.entropies = new byte[words.size()];
+            for (Word w : words) {
+                s.add(w.characters());
+            }
+            return s;
+        });
+    }
+
+    /**
+     * Counts the letters of the given canonical word.
+     *
+     * @param word The word to count.
+     */
+    private void add(String word) {
+        int length = Math.min(word.length(), MAX_LENGTH - 1);
+        int[] counts = new int[LETTERS];
+        int total = 0;
+        int previous = -1;
+        for (int i = 0; i < word.length(); i++) {
+            int c = word.charAt(i) - 'a';
+            if (c < 0 || c >= LETTERS) {
+                previous = -1;
+                continue;
+            }
+            letters[c]++;
+            lengthLetters[length * LETTERS + c]++;
+            positionLetters[Math.min(i, MAX_LENGTH - 1) * LETTERS + c]++;
+            if (previous >= 0) {
+                bigrams[previous * LETTERS + c]++;
+            }
+            previous = c;
+            counts[c]++;
+            total++;
+        }
+        double entropy = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                double p = (double) count / total;
+                entropy -= p * Math.log(p) / Math.log(2);
+            }
+        }
+        entropies[words++] = (byte) Math.round(entropy * ENTROPY_SCALE);
+    }
+
+    /**
+     * Adds the counts of the given partial statistics to these ones. Word
+     * entropies are not merged.
+     *
+     * @param other The statistics to merge into these ones.
+     */
+    private void merge(LetterStatistics other) {
+        addAll(letters, other.letters);
+        addAll(lengthLetters, other.lengthLetters);
+        addAll(positionLetters, other.positionLetters);
+        addAll(bigrams, other.bigrams);
+        words += other.words;
+    }
+
+    /**
+     * Adds every element of the given source array to the same index of the
+     * given destination array.
+     *
+     * @param dest The array to add to.
+     * @param src The array to add.
+     */
+    private static void addAll(long[] dest, long[] src) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] += src[i];
+        }
+    }
+
+    /**
+     * Checks that the given character is a lowercase letter, returning its
+     * index.
+     *
+     * @param c The character to check.
+     * @return The index of the letter, from {@code 0} to {@code 25}.
+     */
+    private static int letterIndex(char c) {
+        if (c < 'a' || c > 'z') {
+            throw new IllegalArgumentException("Not a letter : " + c);
+        }
+        return c - 'a';
+    }
+
+// Queries
+
+    /**
+     * Returns the amount of words analyzed.
+     *
+     * @return The amount of words analyzed.
+     */
+    public int wordCount() {
+        return words;
+    }
+
+    /**
+     * Returns the amount of occurrences of the given letter.
+     *
+     * @param c The letter to count.
+     * @return The amount of occurrences of the letter.
+     */
+    public long frequency(char c) {
+        return letters[letterIndex(c)];
+    }
+
+    /**
+     * Returns the amount of occurrences of the given letter in words of the
+     * given length.
+     *
+     * @param length The length of the words.
+     * @param c The letter to count.
+     * @return The amount of occurrences of the letter.
+     */
+    public long frequency(int length, char c) {
+        int l = Math.min(length, MAX_LENGTH - 1);
+        return lengthLetters[l * LETTERS + letterIndex(c)];
+    }
+
+    /**
+     * Returns the amount of occurrences of the given letter at the given
+     * zero-based position within words.
+     *
+     * @param position The position within words.
+     * @param c The letter to count.
+     * @return The amount of occurrences of the letter at the position.
+     */
+    public long positionalFrequency(int position, char c) {
+        int p = Math.min(position, MAX_LENGTH - 1);
+        return positionLetters[p * LETTERS + letterIndex(c)];
+    }
+
+    /**
+     * Returns the amount of occurrences of the given pair of adjacent letters.
+     *
+     * @param first The first letter of the pair.
+     * @param second The second letter of the pair.
+     * @return The amount of occurrences of the pair.
+     */
+    public long bigramFrequency(char first, char second) {
+        return bigrams[letterIndex(first) * LETTERS + letterIndex(second)];
+    }
+
+    /**
+     * Returns the Shannon entropy, in bits, of the letters of the word at the
+     * given index of the canonical words of the analyzed word list. The
+     * result is accurate to within {@code 1 / 64} bits.
+     *
+     * @param index The index of the word within
+     *        {@link WordListNormalizer#words()}.
+     * @return The entropy of the letters of the word.
+     */
+    public double entropy(int index) {
+        if (index < 0 || index >= words) {
+            throw new IndexOutOfBoundsException("index : " + index);
+        }
+        return (entropies[index] & 0xff) / (double) ENTROPY_SCALE;
+    }
+
+// Persistence
+
+    /**
+     * Writes these statistics to the given stream in binary form.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream could not be written to.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(MAX_LENGTH);
+        writeAll(data, letters);
+        writeAll(data, lengthLetters);
+        writeAll(data, positionLetters);
+        writeAll(data, bigrams);
+        data.writeInt(words);
+        data.write(entropies, 0, words);
+        data.flush();
+    }
+
+    /**
+     * Reads statistics written by {@link #write(OutputStream)} from the given
+     * stream.
+     *
+     * @param in The stream to read from.
+     * @return The statistics read from the stream.
+     * @throws IOException If the stream could not be read or is malformed.
+     */
+    public static LetterStatistics read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION
+                || data.readInt() != MAX_LENGTH) {
+            throw new IOException("Not a letter statistics artefact");
+        }
+        LetterStatistics s = new LetterStatistics();
+        readAll(data, s.letters);
+        readAll(data, s.lengthLetters);
+        readAll(data, s.positionLetters);
+        readAll(data, s.bigrams);
+        s.words = data.readInt();
+        if (s.words < 0) {
+            throw new IOException("Negative word count : " + s.words);
+        }
+        s.entropies = new byte[s.words];
+        data.readFully(s.entropies);
+        return s;
+    }
+
+    /**
+     * Saves these statistics to the given file.
+     *
+     * @param file The file to write to.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    /**
+     * Loads statistics from the given file.
+     *
+     * @param file The file to read from.
+     * @return The statistics contained in the file.
+     * @throws IOException If the file could not be read or is malformed.
+     */
+    public static LetterStatistics load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Writes every element of the given array to the given stream.
+     *
+     * @param out The stream to write to.
+     * @param values The values to write.
+     * @throws IOException If the stream could not be written to.
+     */
+    private static void writeAll(DataOutputStream out, long[] values)
+            throws IOException {
+        for (long v : values) {
+            out.writeLong(v);
+        }
+    }
+
+    /**
+     * Fills the given array with values read from the given stream.
+     *
+     * @param in The stream to read from.
+     * @param values The array to fill.
+     * @throws IOException If the stream could not be read.
+     */
+    private static void readAll(DataInputStream in, long[] values)
+            throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readLong();
+        }
+    }
+
+    /**
+     * Computes statistics for a word list and saves them as an artefact.
+     *
+     * @param args The word list file followed by the artefact file.
+     * @throws IOException If either file could not be accessed.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LetterStatistics <word list> <artefact>");
+            return;
+        }
+        long start = System.nanoTime();
+        LetterStatistics s = compute(Paths.get(args[0]));
+        long computed = System.nanoTime();
+        s.save(Paths.get(args[1]));
+        System.out.printf("%d words analyzed in %.1f ms, %d bytes written%n",
+                s.wordCount(), (computed - start) / 1e6,
+                Files.size(Paths.get(args[1])));
+        long[] order = new long[LETTERS];
+        for (int i = 0; i < LETTERS; i++) {
+            order[i] = (s.letters[i] << 8) | ('a' + i);
+        }
+        Arrays.sort(order);
+        StringBuilder sb = new StringBuilder(LETTERS);
+        for (int i = LETTERS - 1; i >= 0; i--) {
+            sb.append((char) (order[i] & 0xff));
+        }
+        System.out.println("letters by frequency: " + sb);
+    }
+
+}
@@ -0,0 +1,243 @@
+package hangman;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The {@code OffHeapWordList} class provides for an unmodifiable list of
+ * {@link Word} objects whose characters are stored outside of the Java heap.
+ *
+ * <p> The characters of every word are stored back to back, one byte per
+ * character, in a single direct {@code ByteBuffer}, and the start of every
+ * word is stored in a direct {@code IntBuffer} of offsets. The hash, letter
+ * mask and letter-position table of every word are computed once and stored
+ * in direct buffers as well, so that retrieving a word only copies its
+ * characters. The garbage collector therefore sees a fixed amount of objects
+ * per list, regardless of the amount of words it contains. {@code Word}
+ * objects are only created when elements are retrieved.
+ *
+ * <p> Code that examines every word of a list, such as {@link Hint}, should
+ * use the index-based accessors of this class instead of retrieving the words,
+ * so that a scan creates no objects.
+ *
+ * @author Oliver Abdulrahim
+ * @see Dictionary#toOffHeap()
+ */
+final class OffHeapWordList
+    extends AbstractList<Word>
+    implements RandomAccess
+{
+
+    /**
+     * Stores the characters of every word.
+     */
+    private final ByteBuffer characters;
+
+    /**
+     * Stores the offset of every word within {@link #characters}, followed by
+     * the total amount of characters.
+     */
+    private final IntBuffer offsets;
+
+    /**
+     * Stores the 64-bit hash of every word.
+     *
+     * @see Word#hash64()
+     */
+    private final LongBuffer hashes;
+
+    /**
+     * Stores the letter mask of every word.
+     *
+     * @see Word#letterMask()
+     */
+    private final IntBuffer letters;
+
+    /**
+     * Stores the letter-position tables of every word that has one, back to
+     * back. The table of a word has one entry per letter in its mask.
+     *
+     * @see Word#positionsOf(char)
+     */
+    private final IntBuffer positions;
+
+    /**
+     * Stores the offset of the position table of every word within
+     * {@link #positions}.
+     */
+    private final IntBuffer positionOffsets;
+
+    /**
+     * Stores the amount of words in this list.
+     */
+    private final int size;
+
+    /**
+     * Constructs an {@code OffHeapWordList} containing the given words, in
+     * order.
+     *
+     * @param words The words to store.
+     * @throws IllegalArgumentException If a word contains a character outside
+     *         of the ISO-8859-1 range.
+     */
+    OffHeapWordList(List<Word> words) {
+        int total = 0;
+        int entries = 0;
+        for (Word w : words) {
+            total += w.length();
+            if (w.hasPositionTable()) {
+                entries += Integer.bitCount(w.letterMask());
+            }
+        }
+        this.size = words.size();
+        this.characters = ByteBuffer.allocateDirect(total);
+        this.offsets = allocateInts(size + 1);
+        this.hashes = ByteBuffer.allocateDirect(8 * size)
+                .order(ByteOrder.nativeOrder())
+                .asLongBuffer();
+        this.letters = allocateInts(size);
+        this.positions = allocateInts(entries);
+        this.positionOffsets = allocateInts(size);
+        int offset = 0;
+        int entry = 0;
+        for (int i = 0; i < size; i++) {
+            Word w = words.get(i);
+            String s = w.characters();
+            offsets.put(i, offset);
+            for (int j = 0; j < s.length(); j++) {
+                char c = s.charAt(j);
+                if (c > 0xff) {
+                    throw new IllegalArgumentException("Not an ISO-8859-1 character : " + c);
+                }
+                characters.put(offset++, (byte) c);
+            }
+            hashes.put(i, w.hash64());
+            letters.put(i, w.letterMask());
+            positionOffsets.put(i, entry);
+            if (w.hasPositionTable()) {
+                for (int bits = w.letterMask(); bits != 0; bits &= bits - 1) {
+                    char c = (char) ('a' + Integer.numberOfTrailingZeros(bits));
+                    positions.put(entry++, w.positionsOf(c));
+                }
+            }
+        }
+        offsets.put(size, offset);
+    }
+
+    /**
+     * Returns a direct {@code IntBuffer} in native byte order with the given
+     * capacity.
+     *
+     * @param capacity The amount of ints in the buffer.
+     * @return A new direct buffer.
+     */
+    private static IntBuffer allocateInts(int capacity) {
+        return ByteBuffer.allocateDirect(4 * capacity)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+    }
+
+    /**
+     * Returns a new {@code Word} containing the characters of the word at the
+     * given index, with its stored hash and position table.
+     *
+     * @param index The index of the word.
+     * @return The word at the given index.
+     */
+    @Override
+    public Word get(int index) {
+        checkIndex(index);
+        int from = offsets.get(index);
+        int to = offsets.get(index + 1);
+        char[] chars = new char[to - from];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (characters.get(from + i) & 0xff);
+        }
+        int mask = letters.get(index);
+        int[] table = null;
+        if (chars.length <= Word.MAX_INDEXED_LENGTH) {
+            table = new int[Integer.bitCount(mask)];
+            int entry = positionOffsets.get(index);
+            for (int i = 0; i < table.length; i++) {
+                table[i] = positions.get(entry + i);
+            }
+        }
+        return Word.ofIndexed(new String(chars), hashes.get(index), mask, table);
+    }
+
+    /**
+     * Returns the length of the word at the given index, without creating it.
+     *
+     * @param index The index of the word.
+     * @return The length of the word.
+     */
+    int length(int index) {
+        checkIndex(index);
+        return offsets.get(index + 1) - offsets.get(index);
+    }
+
+    /**
+     * Returns the letter mask of the word at the given index, without
+     * creating it.
+     *
+     * @param index The index of the word.
+     * @return The letter mask of the word.
+     * @see Word#letterMask()
+     */
+    int letterMask(int index) {
+        checkIndex(index);
+        return letters.get(index);
+    }
+
+    /**
+     * Returns a character of the word at the given index, without creating
+     * it.
+     *
+     * @param index The index of the word.
+     * @param i The index of the character within the word, which is not
+     *        checked against the length of the word.
+     * @return The character at the given position.
+     */
+    char charAt(int index, int i) {
+        return (char) (characters.get(offsets.get(index) + i) & 0xff);
+    }
+
+    /**
+     * Ensures that the given index is within the bounds of this list.
+     *
+     * @param index The index to check.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index : " + index);
+        }
+    }
+
+    /**
+     * Returns the amount of words in this list.
+     *
+     * @return The amount of words in this list.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the amount of off-heap memory used by this list, in bytes.
+     *
+     * @return The amount of off-heap memory used by this list.
+     */
+    long offHeapBytes() {
+        return characters.capacity() + 8L * hashes.capacity()
+                + 4L * (offsets.capacity() + letters.capacity()
+                        + positions.capacity() + positionOffsets.capacity());
+    }
+
+}
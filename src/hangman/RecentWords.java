@@ -0,0 +1,176 @@
+package hangman;
+
+import java.util.Arrays;
+
+/**
+ * The {@code RecentWords} class remembers the last words served to a player,
+ * or to every player when shared, so that they are not served again soon
+ * after.
+ *
+ * <p> The hashes of the most recent words are kept in a fixed-size ring
+ * buffer, and membership is tested with a counting Bloom filter over the
+ * contents of the ring. When a word falls out of the ring, its counters are
+ * decremented, so the filter never needs to be rebuilt. Memory use is fixed at
+ * construction, and both recording and testing a word take constant time.
+ *
+ * <p> The filter may report a word that was not served recently as recent,
+ * but never the other way around. A false positive only causes another word
+ * to be drawn.
+ *
+ * <p> Objects of this class are safe for use by multiple threads.
+ *
+ * @author Oliver Abdulrahim
+ * @see Dictionary#randomWord(int, RecentWords)
+ */
+public final class RecentWords {
+
+    /**
+     * The amount of counters in the Bloom filter per remembered word.
+     */
+    private static final int COUNTERS_PER_WORD = 8;
+
+    /**
+     * The amount of counters set for every word.
+     */
+    private static final int HASHES = 3;
+
+    /**
+     * The value at which a counter saturates. Saturated counters are never
+     * decremented.
+     */
+    private static final int MAX_COUNT = 0xff;
+
+    /**
+     * Stores the hashes of the most recent words, oldest first from
+     * {@link #next}.
+     */
+    private final long[] ring;
+
+    /**
+     * Stores the counters of the Bloom filter, as unsigned bytes.
+     */
+    private final byte[] counters;
+
+    /**
+     * Stores the index of the ring slot to be written next.
+     */
+    private int next;
+
+    /**
+     * Stores the amount of words in the ring.
+     */
+    private int size;
+
+    /**
+     * Constructs a {@code RecentWords} that remembers the given amount of
+     * words.
+     *
+     * @param capacity The amount of most recent words to remember.
+     */
+    public RecentWords(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity : " + capacity + " <= 0 !");
+        }
+        this.ring = new long[capacity];
+        this.counters = new byte[Integer.highestOneBit(
+                capacity * COUNTERS_PER_WORD - 1) << 1];
+    }
+
+    /**
+     * Returns the amount of words that this instance remembers.
+     *
+     * @return The capacity of this instance.
+     */
+    public int capacity() {
+        return ring.length;
+    }
+
+    /**
+     * Returns the approximate amount of memory used by this instance, in
+     * bytes, which does not change after construction.
+     *
+     * @return The memory used by this instance.
+     */
+    public long bytes() {
+        return 8L * ring.length + counters.length + 64;
+    }
+
+    /**
+     * Records that the given word was served, forgetting the oldest word if
+     * the capacity is reached.
+     *
+     * @param w The word that was served.
+     */
+    public synchronized void add(Word w) {
+        if (size == ring.length) {
+            update(ring[next], -1);
+        }
+        else {
+            size++;
+        }
+        long hash = w.hash64();
+        ring[next] = hash;
+        update(hash, 1);
+        next = next + 1 == ring.length ? 0 : next + 1;
+    }
+
+    /**
+     * Returns {@code true} if the given word may have been served recently,
+     * {@code false} if it definitely has not.
+     *
+     * @param w The word to test.
+     * @return {@code true} if the word may be recent, {@code false} otherwise.
+     */
+    public synchronized boolean mightContain(Word w) {
+        long hash = w.hash64();
+        int mask = counters.length - 1;
+        for (int i = 0; i < HASHES; i++) {
+            if (counters[index(hash, i, mask)] == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets every word.
+     */
+    public synchronized void clear() {
+        Arrays.fill(counters, (byte) 0);
+        size = 0;
+        next = 0;
+    }
+
+    /**
+     * Adds the given amount to the counters of the given hash.
+     *
+     * @param hash The hash of the word.
+     * @param delta Either {@code 1} or {@code -1}.
+     */
+    private void update(long hash, int delta) {
+        int mask = counters.length - 1;
+        for (int i = 0; i < HASHES; i++) {
+            int index = index(hash, i, mask);
+            int count = counters[index] & 0xff;
+            if (count != MAX_COUNT) {
+                counters[index] = (byte) (count + delta);
+            }
+        }
+    }
+
+    /**
+     * Returns the counter index of the given hash for the given hash function,
+     * using double hashing on the two halves of the 64-bit hash.
+     *
+     * @param hash The hash of the word.
+     * @param i The index of the hash function.
+     * @param mask The amount of counters minus one.
+     * @return The counter index.
+     */
+    private static int index(long hash, int i, int mask) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + i * h2) & mask;
+    }
+
+}
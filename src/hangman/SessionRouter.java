@@ -0,0 +1,348 @@
+package hangman;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@code SessionRouter} class maps session ids onto a set of
+ * {@link GameEngine} nodes using consistent hashing.
+ *
+ * <p> Every engine is placed on a hash ring at several pseudorandom points,
+ * called virtual nodes, and a session belongs to the engine that owns the
+ * first point at or after the hash of its id. When an engine is added or
+ * removed, only the sessions whose owner changes are moved, in their
+ * {@linkplain GameSnapshot snapshot} form.
+ *
+ * <p> Routing reads an immutable copy of the ring and never blocks. Adding
+ * and removing engines is serialized. A session that is about to move is
+ * pinned to its old engine before the new ring is published, so that it is
+ * still routed there. It is then moved while its game is locked: it is
+ * snapshotted, hosted by its new engine, closed on its old one and unpinned.
+ * Guesses made through {@link #guess(String, String)} lock the same game, and
+ * are routed again if the session moved while they waited, so no guess is
+ * lost.
+ *
+ * <p> A session whose game cannot be snapshotted stays pinned to its engine
+ * and is reported by {@link #pinnedSessions()}; it is moved by a later change
+ * of the engines once possible. An engine that is removed while it still
+ * hosts pinned sessions leaves the ring, but remains in {@link #engines()}
+ * until they are gone.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class SessionRouter {
+
+    /**
+     * The default amount of virtual nodes per engine.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    /**
+     * The initial size of the buffer used to migrate a single session, which
+     * fits any game without other guesses.
+     */
+    private static final int MIGRATION_BUFFER_SIZE =
+            GameSnapshot.HEADER_SIZE + GameSnapshot.MAX_WORD_LENGTH;
+
+    /**
+     * Stores the amount of virtual nodes per engine.
+     */
+    private final int virtualNodes;
+
+    /**
+     * Stores the engines of this router, by id.
+     */
+    private final Map<String, GameEngine> engines;
+
+    /**
+     * Stores the hash ring, which is replaced rather than modified whenever
+     * the set of engines changes.
+     */
+    private volatile TreeMap<Long, GameEngine> ring;
+
+    /**
+     * Stores the engine of every session that is routed to an engine other
+     * than its owner on the ring, because it is being moved or cannot be.
+     */
+    private final ConcurrentMap<String, GameEngine> pinned;
+
+    /**
+     * Constructs an empty {@code SessionRouter} with the default amount of
+     * virtual nodes per engine.
+     */
+    public SessionRouter() {
+        this(DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Constructs an empty {@code SessionRouter} with the given amount of
+     * virtual nodes per engine.
+     *
+     * @param virtualNodes The amount of points each engine occupies on the
+     *        ring.
+     */
+    public SessionRouter(int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes : " + virtualNodes
+                    + " <= 0 !");
+        }
+        this.virtualNodes = virtualNodes;
+        this.engines = new LinkedHashMap<>();
+        this.ring = new TreeMap<>();
+        this.pinned = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the hash of the given key on the ring.
+     *
+     * @param key The key to hash.
+     * @return The position of the key on the ring.
+     */
+    private static long hash(String key) {
+        return Word.hash64(key);
+    }
+
+    /**
+     * Returns the engine that owns the session with the given id, which is
+     * the engine it is pinned to, if any.
+     *
+     * @param sessionId The id of the session.
+     * @return The engine that owns the session.
+     * @throws IllegalStateException If this router has no engines.
+     */
+    public GameEngine route(String sessionId) {
+        GameEngine e = pinned.get(sessionId);
+        if (e != null) {
+            if (e.get(sessionId) != null) {
+                return e;
+            }
+            // The pinned session was closed
+            pinned.remove(sessionId, e);
+        }
+        return owner(ring, sessionId);
+    }
+
+    /**
+     * Makes the given guess in the session with the given id, routing it
+     * again if the session is moved to another engine before the guess is
+     * made.
+     *
+     * @param sessionId The id of the session.
+     * @param guess The guess to make.
+     * @return {@code true} if the guess was correct, {@code false} otherwise.
+     * @throws IllegalArgumentException If there is no such session.
+     * @see GameEngine#guess(String, String)
+     */
+    public boolean guess(String sessionId, String guess) {
+        while (true) {
+            GameEngine engine = route(sessionId);
+            try {
+                return engine.guess(sessionId, guess);
+            }
+            catch (IllegalArgumentException ex) {
+                // A moved session is unpinned before its game is unlocked
+                if (route(sessionId) == engine) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the engine that owns the given session id on the given ring.
+     *
+     * @param r The ring to search.
+     * @param sessionId The id of the session.
+     * @return The engine that owns the session.
+     */
+    private static GameEngine owner(TreeMap<Long, GameEngine> r, String sessionId) {
+        if (r.isEmpty()) {
+            throw new IllegalStateException("No engines");
+        }
+        Map.Entry<Long, GameEngine> e = r.ceilingEntry(hash(sessionId));
+        return (e != null ? e : r.firstEntry()).getValue();
+    }
+
+    /**
+     * Adds the given engine to this router, moving every session that it now
+     * owns from the other engines.
+     *
+     * @param engine The engine to add.
+     * @return The amount of sessions moved.
+     * @throws IllegalArgumentException If an engine with the same id has
+     *         already been added.
+     * @see #pinnedSessions()
+     */
+    public synchronized int addEngine(GameEngine engine) {
+        if (engines.containsKey(engine.id())) {
+            throw new IllegalArgumentException("Already added : " + engine.id());
+        }
+        TreeMap<Long, GameEngine> next = new TreeMap<>(ring);
+        for (int i = 0; i < virtualNodes; i++) {
+            next.putIfAbsent(hash(engine.id() + '#' + i), engine);
+        }
+        engines.put(engine.id(), engine);
+        return rebalance(next);
+    }
+
+    /**
+     * Removes the engine with the given id from this router, moving all of its
+     * sessions to the remaining engines. If some of its sessions cannot be
+     * moved, they stay pinned to it, and the engine remains in
+     * {@link #engines()} until they are closed, or until this method is called
+     * again after they have become movable.
+     *
+     * @param id The id of the engine to remove.
+     * @return The amount of sessions moved.
+     * @throws IllegalArgumentException If there is no engine with the id.
+     * @throws IllegalStateException If the engine is the last one on the ring
+     *         and still hosts sessions.
+     * @see #pinnedSessions()
+     */
+    public synchronized int removeEngine(String id) {
+        GameEngine engine = engines.get(id);
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown engine : " + id);
+        }
+        TreeMap<Long, GameEngine> next = new TreeMap<>(ring);
+        next.values().removeIf(e -> e == engine);
+        if (next.isEmpty() && engine.sessionCount() > 0) {
+            throw new IllegalStateException("Cannot remove the last engine");
+        }
+        int moved = rebalance(next);
+        if (engine.sessionCount() == 0) {
+            engines.remove(id);
+        }
+        return moved;
+    }
+
+    /**
+     * Publishes the given ring, moving every session whose owner changes.
+     * Sessions that cannot be moved stay pinned to their engine.
+     *
+     * @param next The ring to publish.
+     * @return The amount of sessions moved.
+     */
+    private int rebalance(TreeMap<Long, GameEngine> next) {
+        List<Move> moves = new ArrayList<>();
+        for (GameEngine source : engines.values()) {
+            for (String sessionId : source.sessionIds()) {
+                GameEngine target = next.isEmpty() ? source : owner(next, sessionId);
+                if (target != source) {
+                    pinned.put(sessionId, source);
+                    moves.add(new Move(sessionId, source, target));
+                }
+                else {
+                    pinned.remove(sessionId, source);
+                }
+            }
+        }
+        ring = next;
+        ByteBuffer buffer = ByteBuffer.allocate(MIGRATION_BUFFER_SIZE);
+        int moved = 0;
+        for (Move m : moves) {
+            Hangman game = m.source.get(m.sessionId);
+            if (game == null) {
+                pinned.remove(m.sessionId, m.source);
+                continue;
+            }
+            synchronized (game) {
+                if (m.source.get(m.sessionId) != game) {
+                    // Closed while it was being planned
+                    pinned.remove(m.sessionId, m.source);
+                    continue;
+                }
+                int size = GameSnapshot.size(game);
+                if (buffer.capacity() < size) {
+                    buffer = ByteBuffer.allocate(size);
+                }
+                buffer.clear();
+                Hangman restored;
+                try {
+                    GameSnapshot.encode(game, buffer);
+                    buffer.flip();
+                    restored = m.target.restore(buffer);
+                }
+                catch (IllegalArgumentException ex) {
+                    // Stays pinned to its engine
+                    continue;
+                }
+                m.target.host(m.sessionId, restored);
+                m.source.close(m.sessionId, game);
+                pinned.remove(m.sessionId, m.source);
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Returns a snapshot of the sessions that are pinned to an engine other
+     * than their owner on the ring, because they could not be moved, by
+     * session id.
+     *
+     * @return The pinned sessions and their engines.
+     */
+    public synchronized Map<String, GameEngine> pinnedSessions() {
+        Map<String, GameEngine> result = new LinkedHashMap<>();
+        for (Map.Entry<String, GameEngine> e : pinned.entrySet()) {
+            if (e.getValue().get(e.getKey()) != null) {
+                result.put(e.getKey(), e.getValue());
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Returns an unmodifiable view of the engines of this router.
+     *
+     * @return The engines of this router.
+     */
+    public synchronized Collection<GameEngine> engines() {
+        return Collections.unmodifiableList(new ArrayList<>(engines.values()));
+    }
+
+    /**
+     * Stores a session that is to be moved between engines.
+     */
+    private static final class Move {
+
+        /**
+         * Stores the id of the session.
+         */
+        private final String sessionId;
+
+        /**
+         * Stores the engine that currently hosts the session.
+         */
+        private final GameEngine source;
+
+        /**
+         * Stores the engine that will host the session.
+         */
+        private final GameEngine target;
+
+        /**
+         * Constructs a {@code Move} with the given fields.
+         *
+         * @param sessionId The id of the session.
+         * @param source The engine that currently hosts the session.
+         * @param target The engine that will host the session.
+         */
+        Move(String sessionId, GameEngine source, GameEngine target) {
+            this.sessionId = sessionId;
+            this.source = source;
+            this.target = target;
+        }
+
+    }
+
+}
@@ -0,0 +1,428 @@
+package hangman;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The {@code Simulator} class contains a headless driver that plays a large
+ * amount of automated games against the {@link Hangman} game logic, without
+ * the use of {@link HangmanGUI}, and reports throughput, guess latency, and
+ * allocation statistics.
+ *
+ * <p> The following command-line options are accepted, each in the form
+ * {@code --name=value}:
+ *   <ul>
+ *     <li> {@code games} - the amount of games to play (default 100000).
+ *     <li> {@code strategy} - {@code random}, {@code frequency}, or
+ *          {@code solver} (default {@code frequency}).
+ *     <li> {@code difficulty} - {@code easy}, {@code medium}, or {@code hard}
+ *          (default {@code medium}).
+ *     <li> {@code threads} - the amount of worker threads (default the amount
+ *          of available processors).
+ *     <li> {@code mode} - {@code platform} to run on a fixed pool of platform
+ *          threads, or {@code forkjoin} to run on a work-stealing pool
+ *          (default {@code platform}).
+ *   </ul>
+ *
+ * @author Oliver Abdulrahim
+ * @see GuessStrategy
+ */
+public final class Simulator {
+
+    /**
+     * The amount of games played by a single unit of work.
+     */
+    private static final int CHUNK_SIZE = 1024;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private Simulator() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * The main method of the simulator.
+     *
+     * @param args The command-line options.
+     * @throws Exception If the simulation is interrupted or fails.
+     */
+    public static void main(String[] args) throws Exception {
+        long games = 100_000;
+        String strategy = "frequency";
+        int difficulty = Hangman.MEDIUM_DIFFICULTY;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String mode = "platform";
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (!arg.startsWith("--") || split < 0) {
+                throw new IllegalArgumentException("Malformed option : " + arg);
+            }
+            String name = arg.substring(2, split);
+            String value = arg.substring(split + 1);
+            switch (name) {
+                case "games":
+                    games = Long.parseLong(value);
+                    break;
+                case "strategy":
+                    strategy = value;
+                    break;
+                case "difficulty":
+                    difficulty = parseDifficulty(value);
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "mode":
+                    mode = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option : " + arg);
+            }
+        }
+        Dictionary dictionary = DictionaryCatalogue.defaultCatalogue()
+                .get(DictionaryCatalogue.ENGLISH);
+        Result r = run(dictionary, GuessStrategy.forName(strategy), difficulty,
+                games, threads, mode);
+        System.out.printf("strategy=%s difficulty=%d threads=%d mode=%s%n",
+                strategy, difficulty, threads, mode);
+        System.out.println(r);
+    }
+
+    /**
+     * Returns the difficulty constant with the given name.
+     *
+     * @param name The name of the difficulty.
+     * @return The difficulty constant with the given name.
+     */
+    static int parseDifficulty(String name) {
+        switch (name) {
+            case "easy":
+                return Hangman.EASY_DIFFICULTY;
+            case "medium":
+                return Hangman.MEDIUM_DIFFICULTY;
+            case "hard":
+                return Hangman.HARD_DIFFICULTY;
+            default:
+                throw new IllegalArgumentException("Unknown difficulty : " + name);
+        }
+    }
+
+    /**
+     * Plays the given amount of games and returns the merged statistics.
+     *
+     * @param dictionary The dictionary to select words from.
+     * @param strategy The strategy used to make guesses.
+     * @param difficulty The difficulty of every game.
+     * @param games The amount of games to play.
+     * @param threads The amount of worker threads.
+     * @param mode Either {@code "platform"} or {@code "forkjoin"}.
+     * @return The statistics of the simulation.
+     * @throws InterruptedException If interrupted while waiting for workers.
+     * @throws ExecutionException If a worker fails.
+     */
+    public static Result run(Dictionary dictionary, GuessStrategy strategy,
+            int difficulty, long games, int threads, String mode)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor;
+        switch (mode) {
+            case "platform":
+                executor = Executors.newFixedThreadPool(threads);
+                break;
+            case "forkjoin":
+                executor = new ForkJoinPool(threads);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode : " + mode);
+        }
+        long start = System.nanoTime();
+        List<Future<Result>> futures = new ArrayList<>();
+        for (long played = 0; played < games; played += CHUNK_SIZE) {
+            int chunk = (int) Math.min(CHUNK_SIZE, games - played);
+            futures.add(executor.submit(
+                    () -> play(dictionary, strategy, difficulty, chunk)));
+        }
+        Result total = new Result();
+        try {
+            for (Future<Result> f : futures) {
+                total.merge(f.get());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        total.elapsedNanos = System.nanoTime() - start;
+        return total;
+    }
+
+    /**
+     * Plays the given amount of games on the calling thread.
+     *
+     * @param dictionary The dictionary to select words from.
+     * @param strategy The strategy used to make guesses.
+     * @param difficulty The difficulty of every game.
+     * @param games The amount of games to play.
+     * @return The statistics of the games played.
+     */
+    static Result play(Dictionary dictionary, GuessStrategy strategy,
+            int difficulty, int games) {
+        Result r = new Result();
+        long allocated = allocatedBytes();
+        Hangman game = new Hangman(dictionary, difficulty);
+        for (int i = 0; i < games; i++) {
+            if (i > 0) {
+                game.resetGame(dictionary, difficulty);
+            }
+            while (game.canGuess() && !game.hasWon()) {
+                char c = strategy.nextGuess(game);
+                if (c == '\0') {
+                    break;
+                }
+                String guess = StringUtilities.valueOf(c);
+                long t = System.nanoTime();
+                game.makeGuess(guess);
+                r.latencies.record(System.nanoTime() - t);
+                r.guesses++;
+            }
+            if (game.hasWon()) {
+                r.wins++;
+            }
+            r.games++;
+        }
+        long after = allocatedBytes();
+        if (allocated >= 0 && after >= 0) {
+            r.allocatedBytes = after - allocated;
+        }
+        return r;
+    }
+
+    /**
+     * Returns the amount of bytes allocated by the calling thread, or
+     * {@code -1} if the running virtual machine does not support measuring it.
+     *
+     * @return The amount of bytes allocated by the calling thread.
+     */
+    static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the statistics gathered by a simulation.
+     */
+    public static final class Result {
+
+        /**
+         * Stores the amount of games played.
+         */
+        private long games;
+
+        /**
+         * Stores the amount of games won.
+         */
+        private long wins;
+
+        /**
+         * Stores the amount of guesses made.
+         */
+        private long guesses;
+
+        /**
+         * Stores the amount of bytes allocated while playing.
+         */
+        private long allocatedBytes;
+
+        /**
+         * Stores the wall-clock duration of the simulation.
+         */
+        private long elapsedNanos;
+
+        /**
+         * Stores the latency of every guess.
+         */
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        /**
+         * Adds the statistics of the given result to this one.
+         *
+         * @param other The result to merge into this one.
+         */
+        void merge(Result other) {
+            games += other.games;
+            wins += other.wins;
+            guesses += other.guesses;
+            allocatedBytes += other.allocatedBytes;
+            latencies.merge(other.latencies);
+        }
+
+        /**
+         * Returns the amount of games played.
+         *
+         * @return The amount of games played.
+         */
+        public long games() {
+            return games;
+        }
+
+        /**
+         * Returns the amount of games won.
+         *
+         * @return The amount of games won.
+         */
+        public long wins() {
+            return wins;
+        }
+
+        /**
+         * Returns the amount of games played per second.
+         *
+         * @return The throughput of the simulation.
+         */
+        public double gamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns the average amount of bytes allocated per game.
+         *
+         * @return The average allocation per game.
+         */
+        public double bytesPerGame() {
+            return games == 0 ? 0 : (double) allocatedBytes / games;
+        }
+
+        /**
+         * Returns the guess latency at the given percentile, in nanoseconds.
+         *
+         * @param percentile The percentile, from {@code 0} to {@code 100}.
+         * @return The guess latency at the given percentile.
+         */
+        public long latencyPercentile(double percentile) {
+            return latencies.percentile(percentile);
+        }
+
+        /**
+         * Returns a {@code String} representation of this {@code Result}.
+         *
+         * @return A human-readable report of this result.
+         */
+        @Override
+        public String toString() {
+            return String.format("games=%d wins=%d guesses=%d elapsed=%.3fs%n"
+                    + "games/s=%.0f bytes/game=%.0f%n"
+                    + "guess latency ns: p50=%d p90=%d p99=%d p99.9=%d max=%d",
+                    games, wins, guesses, elapsedNanos / 1e9,
+                    gamesPerSecond(), bytesPerGame(),
+                    latencyPercentile(50), latencyPercentile(90),
+                    latencyPercentile(99), latencyPercentile(99.9),
+                    latencyPercentile(100));
+        }
+
+    }
+
+    /**
+     * Records latencies in logarithmic buckets, each of which is divided into
+     * linear sub-buckets, bounding the relative error of every percentile to
+     * roughly 6%.
+     */
+    static final class LatencyHistogram {
+
+        /**
+         * The amount of bits used to index the linear sub-buckets.
+         */
+        private static final int SUB_BITS = 4;
+
+        /**
+         * Stores the amount of recorded values in each bucket.
+         */
+        private final long[] counts = new long[(64 - SUB_BITS + 1) << SUB_BITS];
+
+        /**
+         * Stores the amount of recorded values.
+         */
+        private long total;
+
+        /**
+         * Records the given value.
+         *
+         * @param value The non-negative value to record.
+         */
+        void record(long value) {
+            counts[index(Math.max(value, 0))]++;
+            total++;
+        }
+
+        /**
+         * Adds the values recorded by the given histogram to this one.
+         *
+         * @param other The histogram to merge into this one.
+         */
+        void merge(LatencyHistogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            total += other.total;
+        }
+
+        /**
+         * Returns the approximate value at the given percentile.
+         *
+         * @param percentile The percentile, from {@code 0} to {@code 100}.
+         * @return The approximate value at the given percentile.
+         */
+        long percentile(double percentile) {
+            long rank = (long) Math.ceil(total * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return lowerBound(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Returns the bucket index of the given value.
+         *
+         * @param value The value to index.
+         * @return The bucket index of the value.
+         */
+        private static int index(long value) {
+            if (value < (1L << SUB_BITS)) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+            int sub = (int) (value >>> (exponent - 1)) & ((1 << SUB_BITS) - 1);
+            return (exponent << SUB_BITS) | sub;
+        }
+
+        /**
+         * Returns the smallest value that maps to the given bucket index.
+         *
+         * @param index The bucket index.
+         * @return The smallest value in the bucket.
+         */
+        private static long lowerBound(int index) {
+            int exponent = index >>> SUB_BITS;
+            long sub = index & ((1 << SUB_BITS) - 1);
+            if (exponent == 0) {
+                return sub;
+            }
+            return ((1L << SUB_BITS) | sub) << (exponent - 1);
+        }
+
+    }
+
+}
@@ -0,0 +1,535 @@
+package hangman;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@code SpectatorPublisher} class broadcasts the {@link GameEvent}s of a
+ * single game to any amount of spectators.
+ *
+ * <p> The {@link Subscriber} and {@link Subscription} interfaces follow the
+ * contract of {@code java.util.concurrent.Flow}: no events are delivered
+ * before {@code onSubscribe}, every subscriber receives at most as many
+ * events as it has requested, and signals to a subscriber are never
+ * concurrent.
+ *
+ * <p> {@link #publish(GameEvent)} never blocks, and takes constant time
+ * regardless of the amount of spectators: it only appends the event to a
+ * queue, and a single fan-out task on the executor of this publisher copies
+ * every queued event into the buffers of the spectators, in order. Every
+ * spectator has its own bounded ring buffer, which is drained on the same
+ * executor in batches of at most {@link #MAX_BATCH} events. When the buffer
+ * of a spectator is full, a conflating spectator only keeps the most recent
+ * event, which carries the complete state of the game, and any other
+ * spectator is failed with an {@code IllegalStateException} and removed.
+ *
+ * <p> Events published before {@link #close()} are delivered before the
+ * spectators are completed. Events published after it are dropped, so that a
+ * game that is closed while a guess is being made does not fail the guess.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class SpectatorPublisher {
+
+    /**
+     * Receives the events of a game, following the contract of
+     * {@code java.util.concurrent.Flow.Subscriber}.
+     */
+    public interface Subscriber {
+
+        /**
+         * Called before any other method, with the subscription through which
+         * events are requested.
+         *
+         * @param subscription The subscription of this subscriber.
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Called with the next event.
+         *
+         * @param event The next event.
+         */
+        void onNext(GameEvent event);
+
+        /**
+         * Called when the subscription has failed. No other methods are
+         * called afterwards.
+         *
+         * @param error The cause of the failure.
+         */
+        void onError(Throwable error);
+
+        /**
+         * Called when the game has ended and every event has been delivered.
+         * No other methods are called afterwards.
+         */
+        void onComplete();
+
+    }
+
+    /**
+     * Links a subscriber to a publisher, following the contract of
+     * {@code java.util.concurrent.Flow.Subscription}.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds the given amount of events to the demand of the subscriber.
+         *
+         * @param n The amount of events to request, which must be positive.
+         */
+        void request(long n);
+
+        /**
+         * Stops the delivery of events to the subscriber.
+         */
+        void cancel();
+
+    }
+
+    /**
+     * The default capacity of the buffer of every spectator.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64;
+
+    /**
+     * The maximum amount of events delivered to a spectator before its drain
+     * task yields the executor to other spectators.
+     */
+    public static final int MAX_BATCH = 32;
+
+    /**
+     * Stores the executor on which events are delivered.
+     */
+    private final Executor executor;
+
+    /**
+     * Stores the capacity of the buffer of every spectator, which is a power
+     * of two.
+     */
+    private final int bufferSize;
+
+    /**
+     * Stores the active spectators of this publisher.
+     */
+    private final List<Spectator> spectators;
+
+    /**
+     * Stores the events that have been published but not yet copied into the
+     * buffers of the spectators.
+     */
+    private final Queue<GameEvent> pending;
+
+    /**
+     * Counts the pending requests to fan out, so that at most one fan-out
+     * task runs at a time.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * Copies the pending events into the buffers of the spectators.
+     */
+    private final Runnable fanOut;
+
+    /**
+     * Stores whether this publisher has been closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a {@code SpectatorPublisher} that delivers events on the
+     * common pool, with the default buffer size.
+     */
+    public SpectatorPublisher() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a {@code SpectatorPublisher} that delivers events on the given
+     * executor, with the given buffer size.
+     *
+     * @param executor The executor on which events are delivered.
+     * @param bufferSize The capacity of the buffer of every spectator, which
+     *        must be a power of two.
+     */
+    public SpectatorPublisher(Executor executor, int bufferSize) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize : " + bufferSize
+                    + " is not a power of two !");
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.bufferSize = bufferSize;
+        this.spectators = new CopyOnWriteArrayList<>();
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.wip = new AtomicInteger();
+        this.fanOut = this::fanOut;
+    }
+
+    /**
+     * Subscribes the given subscriber, which fails when its buffer overflows.
+     *
+     * @param subscriber The subscriber to add.
+     */
+    public void subscribe(Subscriber subscriber) {
+        subscribe(subscriber, false);
+    }
+
+    /**
+     * Subscribes the given subscriber.
+     *
+     * @param subscriber The subscriber to add.
+     * @param conflate Whether only the most recent event is kept when the
+     *        buffer of the subscriber overflows.
+     */
+    public void subscribe(Subscriber subscriber, boolean conflate) {
+        Spectator s = new Spectator(Objects.requireNonNull(subscriber), conflate);
+        if (closed) {
+            s.done = true;
+        }
+        else {
+            spectators.add(s);
+            if (closed) {
+                // Closed concurrently, so the fan-out task completes it
+                schedule();
+            }
+        }
+        s.schedule();
+    }
+
+    /**
+     * Queues the given event for every spectator, without blocking and in
+     * constant time. The event is dropped if this publisher has been closed.
+     *
+     * @param event The event to publish.
+     */
+    public void publish(GameEvent event) {
+        if (closed) {
+            return;
+        }
+        pending.offer(Objects.requireNonNull(event));
+        schedule();
+    }
+
+    /**
+     * Completes every spectator once the events published so far and its
+     * buffered events are delivered.
+     */
+    public void close() {
+        closed = true;
+        schedule();
+    }
+
+    /**
+     * Schedules the fan-out task, unless it is already scheduled or running.
+     */
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(fanOut);
+        }
+    }
+
+    /**
+     * Copies every pending event into the buffers of the spectators, and
+     * completes them once this publisher is closed. Only one fan-out task
+     * runs at a time, so every spectator buffer has a single producer.
+     */
+    private void fanOut() {
+        int missed = 1;
+        do {
+            GameEvent e;
+            while ((e = pending.poll()) != null) {
+                for (Spectator s : spectators) {
+                    s.offer(e);
+                }
+            }
+            if (closed) {
+                // Events published before the close are queued by now
+                while ((e = pending.poll()) != null) {
+                    for (Spectator s : spectators) {
+                        s.offer(e);
+                    }
+                }
+                for (Spectator s : spectators) {
+                    s.done = true;
+                    s.schedule();
+                }
+                spectators.clear();
+                pending.clear();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Returns the amount of active spectators.
+     *
+     * @return The amount of active spectators.
+     */
+    public int spectatorCount() {
+        return spectators.size();
+    }
+
+    /**
+     * The subscription of a single spectator. Events are written to the ring
+     * buffer by the fan-out task alone and read by the drain task alone.
+     */
+    private final class Spectator
+        implements Subscription, Runnable
+    {
+
+        /**
+         * Stores the subscriber of this spectator.
+         */
+        private final Subscriber subscriber;
+
+        /**
+         * Stores whether events are conflated when the buffer overflows.
+         */
+        private final boolean conflate;
+
+        /**
+         * Stores the buffered events.
+         */
+        private final GameEvent[] ring = new GameEvent[bufferSize];
+
+        /**
+         * Stores the sequence of the next event to read from the buffer.
+         */
+        private final AtomicLong head = new AtomicLong();
+
+        /**
+         * Stores the sequence of the next event to write to the buffer.
+         */
+        private final AtomicLong tail = new AtomicLong();
+
+        /**
+         * Stores the most recent event that did not fit in the buffer. While
+         * it is set, newer events replace it instead of being buffered, so that
+         * events are delivered in order.
+         */
+        private final AtomicReference<GameEvent> latest = new AtomicReference<>();
+
+        /**
+         * Stores the amount of events requested but not yet delivered.
+         */
+        private final AtomicLong demand = new AtomicLong();
+
+        /**
+         * Counts the pending requests to drain, so that at most one drain task
+         * runs at a time.
+         */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /**
+         * Stores whether {@code onSubscribe} has been called. Only accessed by
+         * the drain task.
+         */
+        private boolean subscribed;
+
+        /**
+         * Stores whether a terminal signal has been delivered. Only accessed by
+         * the drain task.
+         */
+        private boolean terminated;
+
+        /**
+         * Stores whether the subscription has been cancelled.
+         */
+        private volatile boolean cancelled;
+
+        /**
+         * Stores whether no more events will be published.
+         */
+        private volatile boolean done;
+
+        /**
+         * Stores the failure to deliver to the subscriber, if any.
+         */
+        private volatile Throwable error;
+
+        /**
+         * Constructs a {@code Spectator} for the given subscriber.
+         *
+         * @param subscriber The subscriber to deliver to.
+         * @param conflate Whether events are conflated on overflow.
+         */
+        Spectator(Subscriber subscriber, boolean conflate) {
+            this.subscriber = subscriber;
+            this.conflate = conflate;
+        }
+
+        /**
+         * Buffers the given event and schedules its delivery.
+         *
+         * @param event The event to buffer.
+         */
+        void offer(GameEvent event) {
+            if (cancelled || error != null) {
+                return;
+            }
+            if (latest.get() == null) {
+                long t = tail.get();
+                if (t - head.get() < ring.length) {
+                    ring[(int) t & (ring.length - 1)] = event;
+                    tail.lazySet(t + 1);
+                    schedule();
+                    return;
+                }
+            }
+            if (conflate) {
+                latest.set(event);
+            }
+            else {
+                error = new IllegalStateException("Spectator buffer overflow");
+                spectators.remove(this);
+            }
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("n : " + n + " <= 0 !");
+            }
+            else {
+                long current;
+                long next;
+                do {
+                    current = demand.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!demand.compareAndSet(current, next));
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            spectators.remove(this);
+        }
+
+        /**
+         * Schedules the drain task, unless it is already scheduled or running.
+         */
+        void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Delivers buffered events up to the demand of the subscriber, along
+         * with any terminal signal.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (!subscribed) {
+                    subscribed = true;
+                    subscriber.onSubscribe(this);
+                }
+                if (terminated || cancelled) {
+                    clear();
+                }
+                else if (error != null) {
+                    terminate(error);
+                }
+                else {
+                    long requested = demand.get();
+                    long delivered = 0;
+                    GameEvent e;
+                    while (delivered < requested && delivered < MAX_BATCH
+                            && !cancelled && (e = poll()) != null) {
+                        try {
+                            subscriber.onNext(e);
+                        }
+                        catch (Throwable ex) {
+                            cancel();
+                        }
+                        delivered++;
+                    }
+                    if (delivered > 0 && requested != Long.MAX_VALUE) {
+                        demand.addAndGet(-delivered);
+                    }
+                    boolean empty = isEmpty();
+                    if (done && empty && !cancelled) {
+                        terminate(null);
+                    }
+                    else if (delivered == MAX_BATCH && !empty) {
+                        // Yields to other spectators without releasing wip
+                        executor.execute(this);
+                        return;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Removes and returns the next event to deliver, or {@code null} if
+         * there is none.
+         *
+         * @return The next event, or {@code null}.
+         */
+        private GameEvent poll() {
+            long h = head.get();
+            if (h != tail.get()) {
+                int index = (int) h & (ring.length - 1);
+                GameEvent e = ring[index];
+                ring[index] = null;
+                head.lazySet(h + 1);
+                return e;
+            }
+            return latest.getAndSet(null);
+        }
+
+        /**
+         * Returns {@code true} if there are no events to deliver, {@code false}
+         * otherwise.
+         *
+         * @return {@code true} if there are no events to deliver.
+         */
+        private boolean isEmpty() {
+            return head.get() == tail.get() && latest.get() == null;
+        }
+
+        /**
+         * Discards every event to deliver.
+         */
+        private void clear() {
+            while (poll() != null) {
+                // Discards the event
+            }
+        }
+
+        /**
+         * Delivers a terminal signal to the subscriber.
+         *
+         * @param cause The failure to deliver, or {@code null} to complete.
+         */
+        private void terminate(Throwable cause) {
+            terminated = true;
+            cancelled = true;
+            spectators.remove(this);
+            clear();
+            if (cause != null) {
+                subscriber.onError(cause);
+            }
+            else {
+                subscriber.onComplete();
+            }
+        }
+
+    }
+
+}
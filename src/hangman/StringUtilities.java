@@ -10,6 +10,18 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public final class StringUtilities {
     
+    /**
+     * Stores a one-character {@code String} for every letter from {@code 'a'}
+     * to {@code 'z'}.
+     */
+    private static final String[] LETTERS = new String[26];
+    
+    static {
+        for (int i = 0; i < LETTERS.length; i++) {
+            LETTERS[i] = String.valueOf((char) ('a' + i));
+        }
+    }
+    
     /**
      * Don't let anyone instantiate this class.
      */
@@ -73,6 +85,20 @@ public final class StringUtilities {
     public static String randomAlphaString(int length) {
         return StringUtilities.random('a', 'z', length);
     }
+
+    /**
+     * Returns a one-character {@code String} containing the given character.
+     * For the letters {@code 'a'} to {@code 'z'}, a cached instance is
+     * returned, so that callers may pass single letters around without
+     * allocating.
+     * 
+     * @param c The character to convert.
+     * @return A {@code String} containing only the given character.
+     * @see String#valueOf(char)
+     */
+    public static String valueOf(char c) {
+        return c >= 'a' && c <= 'z' ? LETTERS[c - 'a'] : String.valueOf(c);
+    }
     
 }
 
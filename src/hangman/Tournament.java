@@ -0,0 +1,284 @@
+package hangman;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code Tournament} class contains a tournament mode in which several
+ * players play the same words under the rules of {@link Hangman}.
+ *
+ * <p> A tournament is played in rounds. In every round, each player plays
+ * each word of that round once. The games of a round are split recursively
+ * into small slices and executed on a work-stealing {@code ForkJoinPool}, so
+ * that idle workers take over slices from busy ones and no player is starved.
+ * Results are accumulated in per-player {@code LongAdder}s, which merge
+ * without locks.
+ *
+ * <p> All games share the same immutable {@link Dictionary}, which is never
+ * copied.
+ *
+ * @author Oliver Abdulrahim
+ */
+public final class Tournament {
+
+    /**
+     * The maximum amount of games played by a single slice of work.
+     */
+    private static final int SLICE_SIZE = 16;
+
+    /**
+     * Stores the dictionary shared by all games.
+     */
+    private final Dictionary dictionary;
+
+    /**
+     * Stores the difficulty of all games.
+     */
+    private final int difficulty;
+
+    /**
+     * Stores the words of every round.
+     */
+    private final List<List<Word>> rounds;
+
+    /**
+     * Stores the names of the players.
+     */
+    private final List<String> names;
+
+    /**
+     * Stores the strategies of the players, at the same index as their names.
+     */
+    private final List<GuessStrategy> strategies;
+
+    /**
+     * Stores the amount of games won by every player.
+     */
+    private final LongAdder[] wins;
+
+    /**
+     * Stores the amount of guesses made by every player.
+     */
+    private final LongAdder[] guesses;
+
+    /**
+     * Constructs a {@code Tournament} with the given players and rounds.
+     *
+     * @param dictionary The dictionary shared by all games.
+     * @param difficulty The difficulty of all games.
+     * @param players The strategies of the players, by name.
+     * @param rounds The words of every round.
+     */
+    public Tournament(Dictionary dictionary, int difficulty,
+            Map<String, GuessStrategy> players, List<List<Word>> rounds) {
+        if (players.isEmpty()) {
+            throw new IllegalArgumentException("No players");
+        }
+        this.dictionary = dictionary;
+        this.difficulty = difficulty;
+        this.rounds = new ArrayList<>(rounds);
+        this.names = new ArrayList<>(players.keySet());
+        this.strategies = new ArrayList<>(players.values());
+        this.wins = new LongAdder[names.size()];
+        this.guesses = new LongAdder[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            wins[i] = new LongAdder();
+            guesses[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Plays every round on the given pool, in order, and returns the final
+     * leaderboard.
+     *
+     * @param pool The pool on which games are played.
+     * @return The standings of every player, best first.
+     */
+    public List<Standing> play(ForkJoinPool pool) {
+        for (List<Word> round : rounds) {
+            Word[] words = round.toArray(new Word[round.size()]);
+            pool.invoke(new Slice(words, 0, names.size() * words.length));
+        }
+        return leaderboard();
+    }
+
+    /**
+     * Returns the standings of every player, ordered by wins and then by the
+     * least amount of guesses.
+     *
+     * @return The standings of every player, best first.
+     */
+    public List<Standing> leaderboard() {
+        List<Standing> standings = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            standings.add(new Standing(names.get(i), wins[i].sum(),
+                    guesses[i].sum()));
+        }
+        Collections.sort(standings);
+        return standings;
+    }
+
+    /**
+     * A slice of the games of a round. Game {@code i} is played by player
+     * {@code i / words.length} on word {@code i % words.length}.
+     */
+    private final class Slice
+        extends RecursiveAction
+    {
+
+        /**
+         * Serial version identifier.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Stores the words of the round.
+         */
+        private final Word[] words;
+
+        /**
+         * Stores the first game of this slice, inclusive.
+         */
+        private final int from;
+
+        /**
+         * Stores the last game of this slice, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Constructs a {@code Slice} of the given games.
+         *
+         * @param words The words of the round.
+         * @param from The first game, inclusive.
+         * @param to The last game, exclusive.
+         */
+        Slice(Word[] words, int from, int to) {
+            this.words = words;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SLICE_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Slice(words, from, mid), new Slice(words, mid, to));
+                return;
+            }
+            Hangman game = new Hangman(dictionary, difficulty);
+            for (int i = from; i < to; i++) {
+                int player = i / words.length;
+                game.resetGame(words[i % words.length]);
+                GuessStrategy strategy = strategies.get(player);
+                int made = 0;
+                while (game.canGuess() && !game.hasWon()) {
+                    char c = strategy.nextGuess(game);
+                    if (c == '\0') {
+                        break;
+                    }
+                    game.makeGuess(StringUtilities.valueOf(c));
+                    made++;
+                }
+                guesses[player].add(made);
+                if (game.hasWon()) {
+                    wins[player].increment();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * The result of a single player in a tournament.
+     */
+    public static final class Standing
+        implements Comparable<Standing>
+    {
+
+        /**
+         * Stores the name of the player.
+         */
+        private final String name;
+
+        /**
+         * Stores the amount of games won by the player.
+         */
+        private final long wins;
+
+        /**
+         * Stores the amount of guesses made by the player.
+         */
+        private final long guesses;
+
+        /**
+         * Constructs a {@code Standing} with the given results.
+         *
+         * @param name The name of the player.
+         * @param wins The amount of games won.
+         * @param guesses The amount of guesses made.
+         */
+        Standing(String name, long wins, long guesses) {
+            this.name = name;
+            this.wins = wins;
+            this.guesses = guesses;
+        }
+
+        /**
+         * Returns the name of the player.
+         *
+         * @return The name of the player.
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * Returns the amount of games won by the player.
+         *
+         * @return The amount of games won.
+         */
+        public long wins() {
+            return wins;
+        }
+
+        /**
+         * Returns the amount of guesses made by the player.
+         *
+         * @return The amount of guesses made.
+         */
+        public long guesses() {
+            return guesses;
+        }
+
+        /**
+         * Orders standings by descending wins, then by ascending guesses.
+         *
+         * @param other The standing to compare to this one.
+         * @return A negative integer if this standing ranks higher, zero if
+         *         they rank equally, or a positive integer otherwise.
+         */
+        @Override
+        public int compareTo(Standing other) {
+            int byWins = Long.compare(other.wins, wins);
+            return byWins != 0 ? byWins : Long.compare(guesses, other.guesses);
+        }
+
+        /**
+         * Returns a {@code String} representation of this {@code Standing}.
+         *
+         * @return The name and results of the player.
+         */
+        @Override
+        public String toString() {
+            return name + ": " + wins + " wins, " + guesses + " guesses";
+        }
+
+    }
+
+}
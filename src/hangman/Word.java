@@ -29,6 +29,35 @@ public final class Word
      */
     private final String characters;
     
+    /**
+     * Stores the 64-bit hash of the characters of this {@code Word}, which is
+     * computed once during construction.
+     * 
+     * @see #hash64()
+     */
+    private final long hash;
+    
+    /**
+     * Words with at most this many characters have a letter-position table.
+     * 
+     * @see #positionsOf(char)
+     */
+    public static final int MAX_INDEXED_LENGTH = 32;
+    
+    /**
+     * Stores the letters contained in this {@code Word}, where bit {@code 0}
+     * represents {@code 'a'} and bit {@code 25} represents {@code 'z'}.
+     */
+    private final int letters;
+    
+    /**
+     * Stores, for every letter contained in this {@code Word} in alphabetical
+     * order, a mask of the indices at which it occurs. Letters that do not
+     * occur take no space. This table is {@code null} for words longer than
+     * {@link #MAX_INDEXED_LENGTH}.
+     */
+    private final int[] positions;
+    
     /**
      * Constructs a {@code Word} with random characters and the default length,
      * as specified by {@link #DEFAULT_WORD_LENGTH}.
@@ -59,6 +88,74 @@ public final class Word
      */
     public Word(String characters) {
         this.characters = sanitizeString(characters);
+        this.hash = hash64(this.characters);
+        this.letters = letterMask(this.characters);
+        this.positions = positionTable(this.characters, this.letters);
+    }
+    
+    /**
+     * Constructs a {@code Word} with the specified characters and hash, which
+     * are trusted to be sanitized and consistent.
+     * 
+     * @param characters The sanitized characters of this {@code Word}.
+     * @param hash The 64-bit hash of the characters.
+     */
+    private Word(String characters, long hash) {
+        this.characters = characters;
+        this.hash = hash;
+        this.letters = letterMask(characters);
+        this.positions = positionTable(characters, letters);
+    }
+    
+    /**
+     * Returns a {@code Word} with the given characters, which must already be
+     * sanitized. This method is used by word stores that only hold sanitized
+     * characters, and skips the cost of sanitizing them again.
+     * 
+     * @param characters The sanitized characters of the word.
+     * @return A {@code Word} with the given characters.
+     * @see #sanitizeString(java.lang.String)
+     */
+    static Word ofSanitized(String characters) {
+        return new Word(characters, hash64(characters));
+    }
+    
+    /**
+     * Constructs a {@code Word} with the specified characters and index, which
+     * are trusted to be sanitized and consistent.
+     * 
+     * @param characters The sanitized characters of this {@code Word}.
+     * @param hash The 64-bit hash of the characters.
+     * @param letters The mask of the letters in the characters.
+     * @param positions The position table of the characters, or {@code null}
+     *        if they are too long to be indexed.
+     */
+    private Word(String characters, long hash, int letters, int[] positions) {
+        this.characters = characters;
+        this.hash = hash;
+        this.letters = letters;
+        this.positions = positions;
+    }
+    
+    /**
+     * Returns a {@code Word} with the given characters and precomputed index.
+     * This method is used by word stores that keep the index of every word,
+     * and skips the cost of hashing and indexing the characters again.
+     * 
+     * @param characters The sanitized characters of the word.
+     * @param hash The 64-bit hash of the characters.
+     * @param letters The mask of the letters in the characters.
+     * @param positions The position table of the characters, which is not
+     *        copied, or {@code null} if they are longer than
+     *        {@link #MAX_INDEXED_LENGTH}.
+     * @return A {@code Word} with the given characters and index.
+     * @see #hash64(java.lang.String)
+     * @see #letterMask()
+     * @see #positionsOf(char)
+     */
+    static Word ofIndexed(String characters, long hash, int letters,
+            int[] positions) {
+        return new Word(characters, hash, letters, positions);
     }
     
     /**
@@ -68,6 +165,85 @@ public final class Word
      */
     public Word(Word other) {
         this.characters = other.characters;
+        this.hash = other.hash;
+        this.letters = other.letters;
+        this.positions = other.positions;
+    }
+    
+    /**
+     * Returns a mask of the letters {@code 'a'} to {@code 'z'} contained in the
+     * given {@code String}.
+     * 
+     * @param str The {@code String} to examine.
+     * @return A mask of the letters in the given {@code String}.
+     */
+    private static int letterMask(String str) {
+        int mask = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                mask |= 1 << (c - 'a');
+            }
+        }
+        return mask;
+    }
+    
+    /**
+     * Builds the sparse letter-position table of the given {@code String}.
+     * 
+     * @param str The {@code String} to index.
+     * @param letters The mask of the letters in the {@code String}.
+     * @return The position table, or {@code null} if the {@code String} is
+     *         too long to be indexed.
+     * @see #positions
+     */
+    private static int[] positionTable(String str, int letters) {
+        if (str.length() > MAX_INDEXED_LENGTH) {
+            return null;
+        }
+        int[] table = new int[Integer.bitCount(letters)];
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                table[rank(letters, c)] |= 1 << i;
+            }
+        }
+        return table;
+    }
+    
+    /**
+     * Returns the index of the given letter within the sparse position table
+     * of a word with the given letter mask.
+     * 
+     * @param letters The mask of the letters in the word.
+     * @param c The letter, which must be in the mask.
+     * @return The index of the letter within the position table.
+     */
+    private static int rank(int letters, char c) {
+        return Integer.bitCount(letters & ((1 << (c - 'a')) - 1));
+    }
+    
+    /**
+     * Computes a 64-bit hash of the given {@code String}. This implementation
+     * applies the FNV-1a algorithm to every character followed by a final
+     * avalanche step, so that similar words have dissimilar hashes in all
+     * bits.
+     * 
+     * @param str The {@code String} to hash.
+     * @return A 64-bit hash of the given {@code String}.
+     */
+    public static long hash64(String str) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < str.length(); i++) {
+            h ^= str.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
     }
     
     /**
@@ -80,11 +256,34 @@ public final class Word
      *      <code>String</code>.
      */
     public static String sanitizeString(String str) {
-        String sanitized = "";
-        for (char c : str.replaceAll("\\s+", "").toCharArray()) {
-            sanitized += sanitizeCharacter(c);
+        int i = 0;
+        while (i < str.length() && isSanitized(str.charAt(i))) {
+            i++;
+        }
+        if (i == str.length()) {
+            return str;
+        }
+        StringBuilder sanitized = new StringBuilder(str.length());
+        sanitized.append(str, 0, i);
+        for (; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sanitized.append(sanitizeCharacter(c));
+            }
         }
-        return sanitized;
+        return sanitized.toString();
+    }
+
+    /**
+     * Returns {@code true} if the given {@code char} is left unchanged by
+     * {@link #sanitizeString(java.lang.String)}, {@code false} otherwise.
+     * 
+     * @param c The {@code char} to test.
+     * @return {@code true} if the given {@code char} is already sanitized.
+     */
+    private static boolean isSanitized(char c) {
+        return (c >= 'a' && c <= 'z')
+            || !Character.isWhitespace(c) && sanitizeCharacter(c) == c;
     }
 
     /**
@@ -108,6 +307,60 @@ public final class Word
         return characters;
     }
     
+    /**
+     * Returns the 64-bit hash of the characters of this {@code Word}.
+     * 
+     * @return The 64-bit hash of this {@code Word}.
+     * @see #hash64(java.lang.String)
+     */
+    public long hash64() {
+        return hash;
+    }
+    
+    /**
+     * Returns a mask of the letters contained in this {@code Word}, where bit
+     * {@code 0} represents {@code 'a'} and bit {@code 25} represents 
+     * {@code 'z'}.
+     * 
+     * @return A mask of the letters in this {@code Word}.
+     */
+    public int letterMask() {
+        return letters;
+    }
+    
+    /**
+     * Returns {@code true} if this {@code Word} has a letter-position table,
+     * which is the case if it has at most {@link #MAX_INDEXED_LENGTH} 
+     * characters, {@code false} otherwise.
+     * 
+     * @return {@code true} if {@link #positionsOf(char)} may be called,
+     *         {@code false} otherwise.
+     */
+    public boolean hasPositionTable() {
+        return positions != null;
+    }
+    
+    /**
+     * Returns a mask of the indices at which the given letter occurs in this
+     * {@code Word}, where bit {@code i} represents index {@code i}. Returns
+     * {@code 0} if the letter does not occur.
+     * 
+     * @param c The letter to locate.
+     * @return A mask of the indices of the letter.
+     * @throws IllegalStateException If this {@code Word} has no position
+     *         table.
+     * @see #hasPositionTable()
+     */
+    public int positionsOf(char c) {
+        if (positions == null) {
+            throw new IllegalStateException("No position table : " + characters);
+        }
+        if (c < 'a' || c > 'z' || (letters & (1 << (c - 'a'))) == 0) {
+            return 0;
+        }
+        return positions[rank(letters, c)];
+    }
+    
     /**
      * Returns the length of this word.
      * 
@@ -138,8 +391,8 @@ public final class Word
      */
     public int vowelCount() {
         int amount = 0;
-        for (char c : characters.toCharArray()) {
-            if (isVowel(c)) {
+        for (int i = 0; i < characters.length(); i++) {
+            if (isVowel(characters.charAt(i))) {
                 amount++;
             }
         }
@@ -154,16 +407,17 @@ public final class Word
      * @return {@code true} if the argument provided is a vowel, {@code false}
      *         otherwise.
      */
-    private boolean isVowel(char key) {
-        char[] vowels = {
-            'a', 'e', 'i', 'o', 'u'
-        };
-        for (char vowel : vowels) {
-            if (key == vowel) {
+    private static boolean isVowel(char key) {
+        switch (key) {
+            case 'a':
+            case 'e':
+            case 'i':
+            case 'o':
+            case 'u':
                 return true;
-            }
+            default:
+                return false;
         }
-        return false;
     }
     
     /**
@@ -205,15 +459,31 @@ public final class Word
      * @param o The object to test against this one for equality.
      * @return {@code true} if the given object is equal to this one, 
      *         {@code false} otherwise.
-     * @see #compareTo(language.Word)
+     * @see #compareTo(hangman.Word)
      */
     @Override
     public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
         if (o == null || !(o instanceof Word)) {
             return false;
         }
         final Word other = (Word) o;
-        return this.compareTo(other) == 0;
+        return this.hash == other.hash
+            && this.characters.equals(other.characters);
+    }
+    
+    /**
+     * Returns a hash code for this {@code Word}, which is consistent with
+     * {@link #equals(java.lang.Object)}.
+     * 
+     * @return A hash code for this {@code Word}.
+     * @see #hash64()
+     */
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
     }
     
 }
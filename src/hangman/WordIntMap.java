@@ -0,0 +1,257 @@
+package hangman;
+
+import java.util.Arrays;
+
+/**
+ * The {@code WordIntMap} class provides for a map from {@link Word} keys to
+ * primitive {@code int} values that is implemented as an open-addressing hash
+ * table with linear probing.
+ *
+ * <p> Keys and values are stored in two parallel arrays, so that, unlike
+ * {@code HashMap<Word, Integer>}, no entry objects or boxed values are
+ * allocated. Absent keys are reported through a caller-supplied default value.
+ *
+ * <p> Objects of this class are not safe for use by multiple threads.
+ *
+ * @author Oliver Abdulrahim
+ * @see WordSet
+ */
+public final class WordIntMap {
+
+    /**
+     * The default capacity of a new map.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Stores the keys of this map. Empty slots are {@code null}.
+     */
+    private Word[] keys;
+
+    /**
+     * Stores the values of this map, at the same index as their keys.
+     */
+    private int[] values;
+
+    /**
+     * Stores the amount of mappings in this map.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty {@code WordIntMap} with the default capacity.
+     */
+    public WordIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty {@code WordIntMap} that can hold the given amount of
+     * mappings without resizing.
+     *
+     * @param expected The amount of mappings that this map is expected to
+     *        hold.
+     */
+    public WordIntMap(int expected) {
+        int capacity = WordSet.tableSize(expected);
+        keys = new Word[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Returns a new {@code WordIntMap} that maps every distinct word of the
+     * given sorted array to its index among the distinct words, which may be
+     * used as a compact identifier of the word.
+     *
+     * @param sorted The sorted words to add to the map.
+     * @return A map from each distinct word to its index.
+     */
+    public static WordIntMap indexOfSorted(Word[] sorted) {
+        WordIntMap map = new WordIntMap(sorted.length);
+        Word previous = null;
+        int id = 0;
+        for (Word w : sorted) {
+            if (previous == null || !previous.equals(w)) {
+                int i = map.find(w);
+                map.keys[i] = w;
+                map.values[i] = id++;
+                map.size++;
+                previous = w;
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Returns the slot that contains the given key, or the empty slot at which
+     * the probe sequence for it ends.
+     *
+     * @param key The key to locate.
+     * @return The slot of the given key, or an empty slot.
+     */
+    private int find(Word key) {
+        int mask = keys.length - 1;
+        int i = WordSet.slot(key, mask);
+        Word current;
+        while ((current = keys[i]) != null && !current.equals(key)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the value mapped to the given key, or the given default value if
+     * there is no such mapping.
+     *
+     * @param key The key whose value to return.
+     * @param defaultValue The value to return if the key is absent.
+     * @return The value of the given key, or the default value.
+     */
+    public int get(Word key, int defaultValue) {
+        int i = find(key);
+        return keys[i] == null ? defaultValue : values[i];
+    }
+
+    /**
+     * Returns {@code true} if this map contains the given key, {@code false}
+     * otherwise.
+     *
+     * @param key The key to test.
+     * @return {@code true} if the key is present, {@code false} otherwise.
+     */
+    public boolean containsKey(Word key) {
+        return keys[find(key)] != null;
+    }
+
+    /**
+     * Maps the given key to the given value.
+     *
+     * @param key The key to map.
+     * @param value The value to map the key to.
+     * @param defaultValue The value to return if the key was absent.
+     * @return The previous value of the key, or the default value.
+     */
+    public int put(Word key, int value, int defaultValue) {
+        int i = find(key);
+        if (keys[i] != null) {
+            int previous = values[i];
+            values[i] = value;
+            return previous;
+        }
+        insert(i, key, value);
+        return defaultValue;
+    }
+
+    /**
+     * Adds the given amount to the value of the given key, treating an absent
+     * key as having a value of zero.
+     *
+     * @param key The key whose value to increment.
+     * @param amount The amount to add.
+     * @return The new value of the key.
+     */
+    public int addTo(Word key, int amount) {
+        int i = find(key);
+        if (keys[i] != null) {
+            return values[i] += amount;
+        }
+        insert(i, key, amount);
+        return amount;
+    }
+
+    /**
+     * Stores a new mapping in the given empty slot, resizing if needed.
+     *
+     * @param i The empty slot at which to store the mapping.
+     * @param key The key of the mapping.
+     * @param value The value of the mapping.
+     */
+    private void insert(int i, Word key, int value) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Removes the mapping of the given key. Mappings that follow it in the
+     * same probe run are shifted backwards, so that no tombstones are needed.
+     *
+     * @param key The key to remove.
+     * @param defaultValue The value to return if the key was absent.
+     * @return The removed value, or the default value.
+     */
+    public int remove(Word key, int defaultValue) {
+        int i = find(key);
+        if (keys[i] == null) {
+            return defaultValue;
+        }
+        int removed = values[i];
+        int mask = keys.length - 1;
+        int hole = i;
+        for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = WordSet.slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Doubles the table of this map, rehashing every mapping.
+     *
+     * @param capacity The new table length, which must be a power of two.
+     */
+    private void resize(int capacity) {
+        Word[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new Word[capacity];
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            Word key = oldKeys[j];
+            if (key != null) {
+                int i = WordSet.slot(key, mask);
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Removes every mapping from this map, retaining its capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the amount of mappings in this map.
+     *
+     * @return The amount of mappings in this map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no mappings, {@code false}
+     * otherwise.
+     *
+     * @return {@code true} if this map is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+}
@@ -0,0 +1,482 @@
+package hangman;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The {@code WordListNormalizer} class turns a raw word list into the sorted,
+ * distinct set of canonical words that a {@link Dictionary} is built from,
+ * along with a report of the entries that were merged or dropped.
+ *
+ * <p> Lines are read in chunks, and each chunk is normalized in parallel:
+ * every line is {@linkplain Word#sanitizeString(java.lang.String) sanitized},
+ * lines that are empty or contain anything but the letters {@code 'a'} to
+ * {@code 'z'} afterwards are rejected, and the remaining ones are turned into
+ * {@code Word} objects. The accepted entries of every chunk are then sorted
+ * together, and entries that collapse to the same canonical word (such as
+ * {@code "A"} and {@code "a"}) are reported as collisions, keeping only the
+ * first.
+ *
+ * <p> Objects of this class are <em>immutable</em>.
+ *
+ * @author Oliver Abdulrahim
+ * @see Dictionary#fromNormalized(java.lang.String, hangman.WordListNormalizer)
+ */
+public final class WordListNormalizer {
+
+    /**
+     * The amount of lines normalized by a single task.
+     */
+    private static final int CHUNK_SIZE = 16384;
+
+    /**
+     * Stores the canonical words, sorted and distinct.
+     */
+    private final List<Word> words;
+
+    /**
+     * Stores the entries that collapsed to the same canonical word, in order
+     * of their canonical word.
+     */
+    private final List<Collision> collisions;
+
+    /**
+     * Stores the entries that were dropped, in order of appearance.
+     */
+    private final List<Rejection> rejections;
+
+    /**
+     * Stores the amount of lines that were read.
+     */
+    private final int lines;
+
+    /**
+     * Constructs a {@code WordListNormalizer} with the given results.
+     *
+     * @param words The canonical words, sorted and distinct.
+     * @param collisions The entries that collapsed to the same word.
+     * @param rejections The entries that were dropped.
+     * @param lines The amount of lines that were read.
+     */
+    private WordListNormalizer(List<Word> words, List<Collision> collisions,
+            List<Rejection> rejections, int lines) {
+        this.words = Collections.unmodifiableList(words);
+        this.collisions = Collections.unmodifiableList(collisions);
+        this.rejections = Collections.unmodifiableList(rejections);
+        this.lines = lines;
+    }
+
+    /**
+     * Normalizes the lines of the given word list file.
+     *
+     * @param file The word list, which contains one word per line.
+     * @return The normalized word list.
+     * @throws IOException If the file could not be read.
+     */
+    public static WordListNormalizer normalize(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file,
+                StandardCharsets.UTF_8)) {
+            return normalize(reader);
+        }
+    }
+
+    /**
+     * Normalizes the lines of the given reader.
+     *
+     * @param reader Supplies one word per line.
+     * @return The normalized word list.
+     * @throws IOException If the reader could not be read.
+     */
+    public static WordListNormalizer normalize(BufferedReader reader)
+            throws IOException {
+        List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<String> chunk = new ArrayList<>(CHUNK_SIZE);
+        int lines = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            chunk.add(line);
+            if (chunk.size() == CHUNK_SIZE) {
+                tasks.add(pool.submit(normalizer(chunk, lines)));
+                lines += chunk.size();
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            tasks.add(pool.submit(normalizer(chunk, lines)));
+            lines += chunk.size();
+        }
+        List<Entry> accepted = new ArrayList<>(lines);
+        List<Rejection> rejections = new ArrayList<>();
+        for (ForkJoinTask<Chunk> task : tasks) {
+            Chunk c = task.join();
+            accepted.addAll(c.accepted);
+            rejections.addAll(c.rejected);
+        }
+        Entry[] entries = accepted.toArray(new Entry[accepted.size()]);
+        Arrays.parallelSort(entries);
+        List<Word> words = new ArrayList<>(entries.length);
+        List<Collision> collisions = new ArrayList<>();
+        for (int i = 0; i < entries.length; ) {
+            int j = i + 1;
+            while (j < entries.length && entries[j].word.equals(entries[i].word)) {
+                j++;
+            }
+            words.add(entries[i].word);
+            if (j - i > 1) {
+                List<String> originals = new ArrayList<>(j - i);
+                for (int k = i; k < j; k++) {
+                    originals.add(entries[k].original);
+                }
+                collisions.add(new Collision(entries[i].word, originals));
+            }
+            i = j;
+        }
+        return new WordListNormalizer(words, collisions, rejections, lines);
+    }
+
+    /**
+     * Returns a task that normalizes the given lines.
+     *
+     * @param lines The lines to normalize.
+     * @param first The line number of the first line, counting from zero.
+     * @return A task that normalizes the given lines.
+     */
+    private static ForkJoinTask<Chunk> normalizer(List<String> lines, int first) {
+        return ForkJoinTask.adapt(() -> {
+            Chunk c = new Chunk(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                String original = lines.get(i);
+                String s = Word.sanitizeString(original);
+                int line = first + i + 1;
+                if (s.isEmpty()) {
+                    c.rejected.add(new Rejection(line, original, "empty"));
+                }
+                else if (!isAlphabetic(s)) {
+                    c.rejected.add(new Rejection(line, original, "non-alphabetic"));
+                }
+                else {
+                    c.accepted.add(new Entry(Word.ofSanitized(s), original, line));
+                }
+            }
+            return c;
+        });
+    }
+
+    /**
+     * Returns {@code true} if the given {@code String} only contains the
+     * letters {@code 'a'} to {@code 'z'}, {@code false} otherwise.
+     *
+     * @param s The {@code String} to test.
+     * @return {@code true} if the given {@code String} is alphabetic.
+     */
+    private static boolean isAlphabetic(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the canonical words, sorted and distinct.
+     *
+     * @return The canonical words.
+     */
+    public List<Word> words() {
+        return words;
+    }
+
+    /**
+     * Returns the entries that collapsed to the same canonical word, in order
+     * of their canonical word.
+     *
+     * @return The collisions found.
+     */
+    public List<Collision> collisions() {
+        return collisions;
+    }
+
+    /**
+     * Returns the entries that were dropped, in order of appearance.
+     *
+     * @return The rejections made.
+     */
+    public List<Rejection> rejections() {
+        return rejections;
+    }
+
+    /**
+     * Returns the amount of lines that were read.
+     *
+     * @return The amount of lines read.
+     */
+    public int lineCount() {
+        return lines;
+    }
+
+    /**
+     * Returns a summary of this normalization.
+     *
+     * @return The amount of lines, words, collisions, and rejections.
+     */
+    @Override
+    public String toString() {
+        return lines + " lines, " + words.size() + " words, "
+                + collisions.size() + " collisions, "
+                + rejections.size() + " rejections";
+    }
+
+    /**
+     * Normalizes the given word list and prints its report.
+     *
+     * @param args The word list, and optionally {@code -v} to list every
+     *        collision and rejection.
+     * @throws IOException If the word list could not be read.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: WordListNormalizer <word list> [-v]");
+            return;
+        }
+        long start = System.nanoTime();
+        WordListNormalizer n = normalize(Paths.get(args[0]));
+        long normalized = System.nanoTime();
+        Dictionary d = Dictionary.fromNormalized(args[0], n);
+        long indexed = System.nanoTime();
+        System.out.printf("%s%nnormalized in %.1f ms, indexed in %.1f ms%n",
+                n, (normalized - start) / 1e6, (indexed - normalized) / 1e6);
+        for (int i = Hangman.EASY_DIFFICULTY; i <= Hangman.HARD_DIFFICULTY; i++) {
+            System.out.printf("difficulty %d: %d words%n", i, d.words(i).size());
+        }
+        if (args.length > 1 && args[1].equals("-v")) {
+            for (Collision c : n.collisions) {
+                System.out.println("collision " + c);
+            }
+            for (Rejection r : n.rejections) {
+                System.out.println("rejected " + r);
+            }
+        }
+    }
+
+    /**
+     * Stores an accepted line along with its canonical word.
+     */
+    private static final class Entry
+        implements Comparable<Entry>
+    {
+
+        /**
+         * Stores the canonical word of the line.
+         */
+        private final Word word;
+
+        /**
+         * Stores the line as it was read.
+         */
+        private final String original;
+
+        /**
+         * Stores the line number, counting from one.
+         */
+        private final int line;
+
+        /**
+         * Constructs an {@code Entry} with the given fields.
+         *
+         * @param word The canonical word of the line.
+         * @param original The line as it was read.
+         * @param line The line number.
+         */
+        Entry(Word word, String original, int line) {
+            this.word = word;
+            this.original = original;
+            this.line = line;
+        }
+
+        /**
+         * Compares entries by canonical word, then by line number.
+         *
+         * @param other The entry to compare to this one.
+         * @return A negative integer, zero, or a positive integer if this
+         *         entry comes before, at, or after the given one.
+         */
+        @Override
+        public int compareTo(Entry other) {
+            int c = word.compareTo(other.word);
+            return c != 0 ? c : Integer.compare(line, other.line);
+        }
+
+    }
+
+    /**
+     * Stores the results of normalizing a single chunk of lines.
+     */
+    private static final class Chunk {
+
+        /**
+         * Stores the accepted lines, in order of appearance.
+         */
+        private final List<Entry> accepted;
+
+        /**
+         * Stores the rejected lines, in order of appearance.
+         */
+        private final List<Rejection> rejected = new ArrayList<>();
+
+        /**
+         * Constructs an empty {@code Chunk}.
+         *
+         * @param size The amount of lines in the chunk.
+         */
+        Chunk(int size) {
+            this.accepted = new ArrayList<>(size);
+        }
+
+    }
+
+    /**
+     * The {@code Collision} class describes word list entries that collapse
+     * to the same canonical word.
+     */
+    public static final class Collision {
+
+        /**
+         * Stores the canonical word of the entries.
+         */
+        private final Word word;
+
+        /**
+         * Stores the entries as they were read, in order of appearance.
+         */
+        private final List<String> originals;
+
+        /**
+         * Constructs a {@code Collision} with the given fields.
+         *
+         * @param word The canonical word of the entries.
+         * @param originals The entries as they were read.
+         */
+        Collision(Word word, List<String> originals) {
+            this.word = word;
+            this.originals = Collections.unmodifiableList(originals);
+        }
+
+        /**
+         * Returns the canonical word that was kept.
+         *
+         * @return The canonical word.
+         */
+        public Word word() {
+            return word;
+        }
+
+        /**
+         * Returns the entries as they were read, in order of appearance. The
+         * first one is the entry that was kept.
+         *
+         * @return The colliding entries.
+         */
+        public List<String> originals() {
+            return originals;
+        }
+
+        /**
+         * Returns a {@code String} representation of this {@code Collision}.
+         *
+         * @return The canonical word and the colliding entries.
+         */
+        @Override
+        public String toString() {
+            return word + " <- " + originals;
+        }
+
+    }
+
+    /**
+     * The {@code Rejection} class describes a word list entry that was
+     * dropped.
+     */
+    public static final class Rejection {
+
+        /**
+         * Stores the line number of the entry, counting from one.
+         */
+        private final int line;
+
+        /**
+         * Stores the entry as it was read.
+         */
+        private final String original;
+
+        /**
+         * Stores the reason the entry was dropped.
+         */
+        private final String reason;
+
+        /**
+         * Constructs a {@code Rejection} with the given fields.
+         *
+         * @param line The line number of the entry.
+         * @param original The entry as it was read.
+         * @param reason The reason the entry was dropped.
+         */
+        Rejection(int line, String original, String reason) {
+            this.line = line;
+            this.original = original;
+            this.reason = reason;
+        }
+
+        /**
+         * Returns the line number of the entry, counting from one.
+         *
+         * @return The line number.
+         */
+        public int line() {
+            return line;
+        }
+
+        /**
+         * Returns the entry as it was read.
+         *
+         * @return The rejected entry.
+         */
+        public String original() {
+            return original;
+        }
+
+        /**
+         * Returns the reason the entry was dropped, either {@code "empty"} or
+         * {@code "non-alphabetic"}.
+         *
+         * @return The reason for the rejection.
+         */
+        public String reason() {
+            return reason;
+        }
+
+        /**
+         * Returns a {@code String} representation of this {@code Rejection}.
+         *
+         * @return The line number, entry, and reason.
+         */
+        @Override
+        public String toString() {
+            return line + ": \"" + original + "\" (" + reason + ")";
+        }
+
+    }
+
+}
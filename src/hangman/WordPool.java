@@ -0,0 +1,216 @@
+package hangman;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code WordPool} class provides for a canonical pool of {@link Word}
+ * objects. The pool hands out exactly one instance per distinct sanitized
+ * {@code String}, so that dictionaries with many duplicate entries share a
+ * single object per word and equality checks between pooled words reduce to
+ * an identity comparison.
+ *
+ * <p> The pool is divided into independently locked stripes, selected by the
+ * hash of the word, so that concurrent callers interning different words
+ * rarely contend with each other.
+ *
+ * <p> The pool only refers weakly to its words. Once no dictionary refers to a
+ * word, for example after its dictionary was evicted from a
+ * {@link DictionaryCatalogue}, the word is reclaimed by the garbage collector
+ * and its entry is removed from the pool.
+ *
+ * @author Oliver Abdulrahim
+ * @see Word#hash64()
+ */
+public final class WordPool {
+
+    /**
+     * The default amount of stripes, which must be a power of two.
+     */
+    private static final int DEFAULT_STRIPES = 16;
+
+    /**
+     * Lazily initialized pool shared by all dictionaries.
+     */
+    private static final class SharedHolder {
+        static final WordPool INSTANCE = new WordPool(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Returns the pool shared by all dictionaries.
+     *
+     * @return The shared pool.
+     */
+    public static WordPool shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Stores the words of this pool, partitioned into stripes. Each stripe is
+     * also used as the lock that guards it.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * Constructs an empty {@code WordPool} with the given amount of stripes.
+     *
+     * @param stripes The amount of stripes, which must be a power of two.
+     */
+    public WordPool(int stripes) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("stripes : " + stripes
+                    + " is not a power of two !");
+        }
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Returns the canonical {@code Word} for the given characters, which are
+     * sanitized before lookup.
+     *
+     * @param characters The characters of the word.
+     * @return The canonical instance for the given characters.
+     * @see Word#sanitizeString(java.lang.String)
+     */
+    public Word intern(String characters) {
+        return intern(new Word(characters));
+    }
+
+    /**
+     * Returns the canonical instance that is equal to the given {@code Word}.
+     * If there is no such instance, the given word becomes canonical.
+     *
+     * @param w The word to intern.
+     * @return The canonical instance that is equal to the given word.
+     */
+    public Word intern(Word w) {
+        Stripe stripe = stripes[stripe(w)];
+        synchronized (stripe) {
+            stripe.expunge();
+            Entry e = stripe.words.get(w.characters());
+            Word existing = e == null ? null : e.get();
+            if (existing != null) {
+                stripe.hits++;
+                return existing;
+            }
+            stripe.words.put(w.characters(), new Entry(w, stripe.queue));
+            return w;
+        }
+    }
+
+    /**
+     * Returns the index of the stripe that contains the given word. The upper
+     * bits of the 64-bit hash are used, so that the choice of stripe does not
+     * depend on the bits that {@code String.hashCode} contributes to the
+     * lookup within the stripe.
+     *
+     * @param w The word to find the stripe of.
+     * @return The stripe index of the given word.
+     */
+    private int stripe(Word w) {
+        return (int) (w.hash64() >>> 40) & (stripes.length - 1);
+    }
+
+    /**
+     * Returns the amount of distinct words in this pool. Words that are no
+     * longer reachable but have not been reclaimed yet may still be counted.
+     *
+     * @return The amount of distinct words in this pool.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.expunge();
+                size += stripe.words.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the amount of intern requests that were served by an existing
+     * instance, which is the amount of duplicate {@code Word} objects that
+     * were not retained.
+     *
+     * @return The amount of duplicates avoided by this pool.
+     */
+    public long duplicatesAvoided() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                total += stripe.hits;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Stores a portion of the words of a pool.
+     */
+    private static final class Stripe {
+
+        /**
+         * Stores a weak reference to every word of this stripe, by its
+         * characters.
+         */
+        private final Map<String, Entry> words = new HashMap<>();
+
+        /**
+         * Receives the entries whose words have been reclaimed.
+         */
+        private final ReferenceQueue<Word> queue = new ReferenceQueue<>();
+
+        /**
+         * Stores the amount of requests that were served by an existing
+         * instance.
+         */
+        private long hits;
+
+        /**
+         * Removes the entries whose words have been reclaimed. The caller must
+         * hold the lock of this stripe.
+         */
+        private void expunge() {
+            Reference<? extends Word> ref;
+            while ((ref = queue.poll()) != null) {
+                Entry e = (Entry) ref;
+                words.remove(e.key, e);
+            }
+        }
+
+    }
+
+    /**
+     * Refers weakly to a pooled word, so that words are reclaimed once no
+     * dictionary uses them any more.
+     */
+    private static final class Entry
+        extends WeakReference<Word>
+    {
+
+        /**
+         * Stores the characters of the word, which are its key in the stripe.
+         */
+        private final String key;
+
+        /**
+         * Constructs an {@code Entry} for the given word.
+         *
+         * @param w The word to refer to.
+         * @param queue The queue to register this entry with.
+         */
+        Entry(Word w, ReferenceQueue<Word> queue) {
+            super(w, queue);
+            this.key = w.characters();
+        }
+
+    }
+
+}
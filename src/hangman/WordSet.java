@@ -0,0 +1,272 @@
+package hangman;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The {@code WordSet} class provides for a set of {@link Word} objects that is
+ * implemented as an open-addressing hash table with linear probing.
+ *
+ * <p> Unlike {@code HashSet<Word>}, this class stores its elements directly in
+ * a single array and does not allocate an entry object per element. Slots are
+ * located using the cached {@link Word#hash64()} of each word, so that no
+ * hash is computed during lookup.
+ *
+ * <p> Objects of this class are not safe for use by multiple threads.
+ *
+ * @author Oliver Abdulrahim
+ * @see WordIntMap
+ */
+public final class WordSet {
+
+    /**
+     * The default capacity of a new set.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Stores the elements of this set. Empty slots are {@code null}.
+     */
+    private Word[] table;
+
+    /**
+     * Stores the amount of elements in this set.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty {@code WordSet} with the default capacity.
+     */
+    public WordSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty {@code WordSet} that can hold the given amount of
+     * elements without resizing.
+     *
+     * @param expected The amount of elements that this set is expected to
+     *        hold.
+     */
+    public WordSet(int expected) {
+        table = new Word[tableSize(expected)];
+    }
+
+    /**
+     * Returns a new {@code WordSet} containing the words of the given array,
+     * which must be sorted. Because equal words are adjacent in a sorted array,
+     * duplicates are skipped without probing and the table is sized exactly
+     * once.
+     *
+     * @param sorted The sorted words to add to the set.
+     * @return A set containing the given words.
+     */
+    public static WordSet fromSorted(Word[] sorted) {
+        WordSet set = new WordSet(sorted.length);
+        Word previous = null;
+        for (Word w : sorted) {
+            if (previous == null || !previous.equals(w)) {
+                set.table[set.freeSlot(w)] = w;
+                set.size++;
+                previous = w;
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Returns the table size, which is a power of two, needed to hold the given
+     * amount of elements at a load factor of at most one half.
+     *
+     * @param expected The amount of elements to hold.
+     * @return The table size for the given amount of elements.
+     */
+    static int tableSize(int expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("expected : " + expected + " < 0 !");
+        }
+        int capacity = Integer.highestOneBit(Math.max(expected, 4) * 2 - 1) << 1;
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("expected : " + expected
+                    + " is too large !");
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns the home slot of the given word in a table with the given mask.
+     *
+     * @param w The word to locate.
+     * @param mask The table length minus one.
+     * @return The home slot of the given word.
+     */
+    static int slot(Word w, int mask) {
+        return (int) w.hash64() & mask;
+    }
+
+    /**
+     * Returns the slot that contains the given word, or the empty slot at which
+     * the probe sequence for it ends.
+     *
+     * @param w The word to locate.
+     * @return The slot of the given word, or an empty slot.
+     */
+    private int find(Word w) {
+        int mask = table.length - 1;
+        int i = slot(w, mask);
+        Word current;
+        while ((current = table[i]) != null && !current.equals(w)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the first empty slot in the probe sequence of the given word,
+     * which must not be in this set.
+     *
+     * @param w The word to locate.
+     * @return An empty slot for the given word.
+     */
+    private int freeSlot(Word w) {
+        int mask = table.length - 1;
+        int i = slot(w, mask);
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /**
+     * Adds the given word to this set.
+     *
+     * @param w The word to add.
+     * @return {@code true} if the word was added, {@code false} if it was
+     *         already present.
+     */
+    public boolean add(Word w) {
+        int i = find(w);
+        if (table[i] != null) {
+            return false;
+        }
+        table[i] = w;
+        if (++size * 2 > table.length) {
+            resize(table.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if this set contains the given word, {@code false}
+     * otherwise.
+     *
+     * @param w The word to test.
+     * @return {@code true} if the word is present, {@code false} otherwise.
+     */
+    public boolean contains(Word w) {
+        return table[find(w)] != null;
+    }
+
+    /**
+     * Removes the given word from this set. Elements that follow it in the
+     * same probe run are shifted backwards, so that no tombstones are needed.
+     *
+     * @param w The word to remove.
+     * @return {@code true} if the word was removed, {@code false} if it was
+     *         not present.
+     */
+    public boolean remove(Word w) {
+        int i = find(w);
+        if (table[i] == null) {
+            return false;
+        }
+        int mask = table.length - 1;
+        int hole = i;
+        for (int j = (i + 1) & mask; table[j] != null; j = (j + 1) & mask) {
+            int home = slot(table[j], mask);
+            // Moves the element into the hole unless its home slot lies
+            // cyclically within (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                table[hole] = table[j];
+                hole = j;
+            }
+        }
+        table[hole] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Doubles the table of this set, rehashing every element.
+     *
+     * @param capacity The new table length, which must be a power of two.
+     */
+    private void resize(int capacity) {
+        Word[] old = table;
+        table = new Word[capacity];
+        for (Word w : old) {
+            if (w != null) {
+                table[freeSlot(w)] = w;
+            }
+        }
+    }
+
+    /**
+     * Removes every element from this set, retaining its capacity.
+     */
+    public void clear() {
+        Arrays.fill(table, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the amount of elements in this set.
+     *
+     * @return The amount of elements in this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements, {@code false}
+     * otherwise.
+     *
+     * @return {@code true} if this set is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Performs the given action for every element of this set, in no
+     * particular order.
+     *
+     * @param action The action to perform.
+     */
+    public void forEach(Consumer<? super Word> action) {
+        for (Word w : table) {
+            if (w != null) {
+                action.accept(w);
+            }
+        }
+    }
+
+    /**
+     * Returns a sorted array containing every element of this set.
+     *
+     * @return The sorted elements of this set.
+     */
+    public Word[] toSortedArray() {
+        Word[] result = new Word[size];
+        int n = 0;
+        for (Word w : table) {
+            if (w != null) {
+                result[n++] = w;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+}
@@ -0,0 +1,227 @@
+package hangman;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The {@code AllocationCheck} class verifies that the hot paths of the game
+ * core do not allocate once they are warmed up, and that a whole game stays
+ * within a fixed allocation budget. It is run by the {@code test} target of
+ * the build, which fails if any check fails. Single-letter guesses are made
+ * with the cached {@code String}s of {@link StringUtilities#valueOf(char)},
+ * so that the caller does not allocate.
+ *
+ * <p> Allocations are measured with
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}. If
+ * the running virtual machine does not support measuring them, every check is
+ * skipped.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class AllocationCheck {
+
+    /**
+     * The maximum amount of bytes that a whole game, including the selection
+     * of its word, may allocate on average.
+     */
+    static final long BYTES_PER_GAME_BUDGET = 64;
+
+    /**
+     * The amount of games played before any measurement is taken.
+     */
+    private static final int WARMUP_GAMES = 200_000;
+
+    /**
+     * The amount of games measured by every check.
+     */
+    private static final int GAMES = 4096;
+
+    /**
+     * The amount of times each check is measured. The smallest measurement is
+     * kept, which hides allocations made by the virtual machine itself, such
+     * as those of the compiler.
+     */
+    private static final int ATTEMPTS = 5;
+
+    /**
+     * The mask of every letter from {@code 'a'} to {@code 'z'}.
+     */
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+
+    /**
+     * Stores a value derived from every measured call, so that they cannot be
+     * eliminated by the compiler.
+     */
+    private static long sink;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private AllocationCheck() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Runs every check, printing its result, and exits with a non-zero status
+     * if any of them fails.
+     *
+     * @param args The command-line arguments, which are ignored.
+     */
+    public static void main(String[] args) {
+        if (Simulator.allocatedBytes() < 0) {
+            System.out.println("Allocation measurement unsupported, skipping checks.");
+            return;
+        }
+        Dictionary dictionary = DictionaryCatalogue.defaultCatalogue()
+                .get(DictionaryCatalogue.ENGLISH);
+        Hangman[] games = new Hangman[GAMES];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = new Hangman(dictionary, Hangman.MEDIUM_DIFFICULTY);
+        }
+        for (int i = 0; i < WARMUP_GAMES / GAMES; i++) {
+            resetAll(games, dictionary);
+            guessAll(games);
+            resetAll(games, dictionary);
+            batchAll(games);
+            queryAll(games);
+            playAll(games, dictionary);
+        }
+        boolean passed = true;
+        passed &= check("makeGuess", 0, () -> {
+            resetAll(games, dictionary);
+            return measure(() -> guessAll(games));
+        });
+        passed &= check("makeGuesses", 0, () -> {
+            resetAll(games, dictionary);
+            return measure(() -> batchAll(games));
+        });
+        passed &= check("hasWon, length, vowelCount", 0,
+                () -> measure(() -> queryAll(games)));
+        passed &= check("game", BYTES_PER_GAME_BUDGET * GAMES,
+                () -> measure(() -> playAll(games, dictionary)));
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Measures the given check several times and prints whether the smallest
+     * measurement is within the given budget.
+     *
+     * @param name The name of the check.
+     * @param budget The maximum amount of bytes the check may allocate.
+     * @param check Measures the check once, returning the allocated bytes.
+     * @return {@code true} if the check passed, {@code false} otherwise.
+     */
+    private static boolean check(String name, long budget,
+            LongSupplier check) {
+        long bytes = Long.MAX_VALUE;
+        for (int i = 0; i < ATTEMPTS; i++) {
+            bytes = Math.min(bytes, check.getAsLong());
+        }
+        boolean passed = bytes <= budget;
+        System.out.printf("%s %s: %d bytes over %d games (budget %d)%n",
+                passed ? "PASS" : "FAIL", name, bytes, GAMES, budget);
+        return passed;
+    }
+
+    /**
+     * Returns the amount of bytes allocated by the calling thread while
+     * running the given task, less the cost of measuring.
+     *
+     * @param task The task to measure.
+     * @return The amount of bytes allocated by the task.
+     */
+    private static long measure(Runnable task) {
+        long empty = Simulator.allocatedBytes();
+        long start = Simulator.allocatedBytes();
+        task.run();
+        long end = Simulator.allocatedBytes();
+        return Math.max(end - start - (start - empty), 0);
+    }
+
+    /**
+     * Starts a new game in every given game.
+     *
+     * @param games The games to reset.
+     * @param dictionary The dictionary to select words from.
+     */
+    private static void resetAll(Hangman[] games, Dictionary dictionary) {
+        for (Hangman game : games) {
+            game.resetGame(dictionary, Hangman.MEDIUM_DIFFICULTY);
+        }
+    }
+
+    /**
+     * Plays every given game to its end with single-letter guesses, without
+     * starting a new one.
+     *
+     * @param games The games to play.
+     */
+    private static void guessAll(Hangman[] games) {
+        for (Hangman game : games) {
+            for (int i = 0; i < GuessStrategy.FREQUENCY_ORDER.length()
+                    && game.canGuess() && !game.hasWon(); i++) {
+                char c = GuessStrategy.FREQUENCY_ORDER.charAt(i);
+                if (game.makeGuess(StringUtilities.valueOf(c))) {
+                    sink++;
+                }
+            }
+            // Rejected guesses must not allocate either
+            if (game.makeGuess(StringUtilities.valueOf('a'))) {
+                sink++;
+            }
+        }
+    }
+
+    /**
+     * Plays every given game to its end with a single batch of guesses,
+     * without starting a new one. Half of the games are given the batch as a
+     * {@code CharSequence}, and the other half as a mask of letters.
+     *
+     * @param games The games to play.
+     */
+    private static void batchAll(Hangman[] games) {
+        for (int i = 0; i < games.length; i++) {
+            sink += (i & 1) == 0
+                    ? games[i].makeGuesses(GuessStrategy.FREQUENCY_ORDER)
+                    : games[i].makeGuesses(ALL_LETTERS);
+            // Batches made after the game has ended must not allocate either
+            sink += games[i].makeGuesses(ALL_LETTERS);
+        }
+    }
+
+    /**
+     * Queries the state and current word of every given game.
+     *
+     * @param games The games to query.
+     */
+    private static void queryAll(Hangman[] games) {
+        for (Hangman game : games) {
+            Word w = game.getWord();
+            sink += w.length() + w.vowelCount() + (game.hasWon() ? 1 : 0);
+        }
+    }
+
+    /**
+     * Starts and plays a new game in every given game, using the frequency
+     * strategy.
+     *
+     * @param games The games to play.
+     * @param dictionary The dictionary to select words from.
+     */
+    private static void playAll(Hangman[] games, Dictionary dictionary) {
+        GuessStrategy strategy = GuessStrategy.frequency();
+        for (Hangman game : games) {
+            game.resetGame(dictionary, Hangman.MEDIUM_DIFFICULTY);
+            while (game.canGuess() && !game.hasWon()) {
+                char c = strategy.nextGuess(game);
+                if (c == '\0') {
+                    break;
+                }
+                game.makeGuess(StringUtilities.valueOf(c));
+            }
+            sink += game.getGuessesLeft();
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package hangman;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code CollectionsBenchmark} class compares the throughput and memory
+ * footprint of {@link WordIntMap} against {@code HashMap<Word, Integer>} on
+ * the full default dictionary.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class CollectionsBenchmark {
+
+    /**
+     * The amount of times each measurement is repeated.
+     */
+    private static final int ROUNDS = 10;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private CollectionsBenchmark() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Runs the benchmark and prints its results.
+     *
+     * @param args The command-line arguments, which are ignored.
+     */
+    public static void main(String[] args) {
+        Dictionary dictionary = DictionaryCatalogue.defaultCatalogue()
+                .get(DictionaryCatalogue.ENGLISH);
+        Word[] words = sortedWords(dictionary);
+        long sink = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            Map<Word, Integer> boxed = new HashMap<>();
+            for (int i = 0; i < words.length; i++) {
+                boxed.put(words[i], i);
+            }
+            long built = System.nanoTime();
+            for (Word w : words) {
+                sink += boxed.get(w);
+            }
+            long read = System.nanoTime();
+            WordIntMap primitive = new WordIntMap();
+            for (int i = 0; i < words.length; i++) {
+                primitive.put(words[i], i, -1);
+            }
+            long builtPrimitive = System.nanoTime();
+            for (Word w : words) {
+                sink += primitive.get(w, -1);
+            }
+            long readPrimitive = System.nanoTime();
+            WordIntMap bulk = WordIntMap.indexOfSorted(words);
+            long builtBulk = System.nanoTime();
+            sink += bulk.size();
+            System.out.printf("HashMap put %6.2f ms get %6.2f ms | "
+                    + "WordIntMap put %6.2f ms get %6.2f ms bulk %6.2f ms%n",
+                    (built - start) / 1e6, (read - built) / 1e6,
+                    (builtPrimitive - read) / 1e6,
+                    (readPrimitive - builtPrimitive) / 1e6,
+                    (builtBulk - readPrimitive) / 1e6);
+        }
+        long baseline = usedMemory();
+        Map<Word, Integer> boxed = new HashMap<>();
+        for (int i = 0; i < words.length; i++) {
+            boxed.put(words[i], i);
+        }
+        long boxedBytes = usedMemory() - baseline;
+        sink += boxed.size();
+        boxed = null;
+        baseline = usedMemory();
+        WordIntMap primitive = WordIntMap.indexOfSorted(words);
+        long primitiveBytes = usedMemory() - baseline;
+        sink += primitive.size();
+        System.out.printf("retained: HashMap %d KB, WordIntMap %d KB (%d)%n",
+                boxedBytes / 1024, primitiveBytes / 1024, sink & 1);
+    }
+
+    /**
+     * Returns every word of the given dictionary, in sorted order.
+     *
+     * @param dictionary The dictionary whose words to return.
+     * @return The sorted words of the dictionary.
+     */
+    private static Word[] sortedWords(Dictionary dictionary) {
+        WordSet set = new WordSet(dictionary.size());
+        for (int d = Hangman.EASY_DIFFICULTY; d <= Hangman.HARD_DIFFICULTY; d++) {
+            List<Word> bucket = dictionary.words(d);
+            for (Word w : bucket) {
+                set.add(w);
+            }
+        }
+        return set.toSortedArray();
+    }
+
+    /**
+     * Returns the amount of heap memory in use after requesting garbage
+     * collection.
+     *
+     * @return The amount of heap memory in use, in bytes.
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
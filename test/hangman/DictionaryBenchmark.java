@@ -0,0 +1,105 @@
+package hangman;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code DictionaryBenchmark} class compares garbage collection pauses
+ * with several copies of the default word list loaded, stored either on or
+ * off the heap.
+ *
+ * <p> Usage: {@code DictionaryBenchmark <heap|offheap> [copies] [games]}. Each
+ * layout should be measured in its own virtual machine.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class DictionaryBenchmark {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private DictionaryBenchmark() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Runs the benchmark and prints its results.
+     *
+     * @param args The layout, and optionally the amount of copies and games.
+     * @throws IOException If the word list could not be read.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean offHeap = args.length > 0 && args[0].equals("offheap");
+        int copies = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Dictionary.class.getResourceAsStream("/resources/dictionary.txt"),
+                StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        List<Dictionary> loaded = new ArrayList<>(copies);
+        for (int c = 0; c < copies; c++) {
+            // Every copy gets its own Word objects, as distinct lists would
+            List<Word> words = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                words.add(new Word(line));
+            }
+            Dictionary d = new Dictionary("copy" + c, words);
+            loaded.add(offHeap ? d.toOffHeap() : d);
+        }
+        lines = null;
+        System.gc();
+        long collections = collections();
+        long collectionMillis = collectionMillis();
+        long start = System.nanoTime();
+        Simulator.Result r = Simulator.play(loaded.get(0),
+                GuessStrategy.frequency(), Hangman.MEDIUM_DIFFICULTY, games);
+        long elapsed = System.nanoTime() - start;
+        long count = collections() - collections;
+        long millis = collectionMillis() - collectionMillis;
+        Runtime runtime = Runtime.getRuntime();
+        System.out.printf("%s copies=%d games=%d heap=%d MB elapsed=%.2f s "
+                + "gc=%d collections, %d ms total, %.2f ms average%n",
+                offHeap ? "offheap" : "heap", loaded.size(), r.games(),
+                (runtime.totalMemory() - runtime.freeMemory()) >> 20,
+                elapsed / 1e9, count, millis,
+                count == 0 ? 0.0 : (double) millis / count);
+    }
+
+    /**
+     * Returns the total amount of garbage collections so far.
+     *
+     * @return The amount of garbage collections.
+     */
+    private static long collections() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionCount(), 0);
+        }
+        return total;
+    }
+
+    /**
+     * Returns the total time spent in garbage collection so far.
+     *
+     * @return The time spent in garbage collection, in milliseconds.
+     */
+    private static long collectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionTime(), 0);
+        }
+        return total;
+    }
+
+}
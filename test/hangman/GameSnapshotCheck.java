@@ -0,0 +1,328 @@
+package hangman;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The {@code GameSnapshotCheck} class verifies that games survive a round
+ * trip through {@link GameSnapshot}, including their word and non-letter
+ * guesses, that snapshots of the previous version are still decoded, and that
+ * malformed snapshots and games that cannot be encoded are rejected without
+ * corrupting the buffer. It is run
+ * by the {@code test} target of the build, which fails if any check fails.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class GameSnapshotCheck {
+
+    /**
+     * Stores the dictionary that checked games select their words from.
+     */
+    private static final Dictionary DICTIONARY = new Dictionary("check",
+            Arrays.asList(new Word("abracadabra"), new Word("mississippi"),
+                    new Word("zebra"), new Word("quiz")));
+
+    /**
+     * Stores the amount of checks that were run.
+     */
+    private static int checks;
+
+    /**
+     * Stores the amount of checks that failed.
+     */
+    private static int failures;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private GameSnapshotCheck() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Runs every check, printing its result, and exits with a non-zero status
+     * if any of them fails.
+     *
+     * @param args The command-line arguments, which are ignored.
+     */
+    public static void main(String[] args) {
+        checkRoundTrips();
+        checkMalformed();
+        checkUnencodable();
+        System.out.println(failures == 0
+                ? "PASS snapshots: " + checks + " checks"
+                : "FAIL snapshots: " + failures + " of " + checks + " checks");
+        if (failures != 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Checks that games in every state decode to equal games, in both byte
+     * orders and at non-zero buffer positions.
+     */
+    private static void checkRoundTrips() {
+        for (ByteOrder order : new ByteOrder[] {
+                ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+            for (int difficulty = Hangman.EASY_DIFFICULTY;
+                    difficulty <= Hangman.HARD_DIFFICULTY; difficulty++) {
+                roundTrip("fresh", game(difficulty, "zebra", ""), order);
+                roundTrip("hits and misses",
+                        game(difficulty, "mississippi", "sxp"), order);
+                roundTrip("won", game(difficulty, "quiz", "quiz"), order);
+                roundTrip("lost", game(difficulty, "zebra", "cdfghi"), order);
+                roundTrip("other guesses", play(game(difficulty,
+                        "mississippi", "s"), "issi", "xy", "-"), order);
+                roundTrip("won by word", play(game(difficulty, "zebra", "x"),
+                        "zebra"), order);
+            }
+        }
+        // Several snapshots back to back in one buffer
+        Hangman[] games = {
+            game(Hangman.EASY_DIFFICULTY, "abracadabra", "ab"),
+            game(Hangman.MEDIUM_DIFFICULTY, "quiz", "q"),
+            game(Hangman.HARD_DIFFICULTY, "zebra", "yz")
+        };
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (Hangman game : games) {
+            GameSnapshot.encode(game, buffer);
+        }
+        buffer.flip();
+        for (Hangman game : games) {
+            check("sequential " + game.getCurrentWord(),
+                    same(game, GameSnapshot.decode(buffer, DICTIONARY)));
+        }
+        check("sequential consumed", !buffer.hasRemaining());
+        // A snapshot of the previous version, which has no other guesses
+        Hangman game = game(Hangman.MEDIUM_DIFFICULTY, "zebra", "ex");
+        ByteBuffer v1 = ByteBuffer.allocate(GameSnapshot.HEADER_SIZE - 1 + 5);
+        v1.put(GameSnapshot.VERSION_1)
+          .put((byte) game.getDifficulty())
+          .put((byte) game.getGuessesLeft())
+          .put((byte) 5)
+          .putInt(game.getGuessedMask())
+          .put("zebra".getBytes(StandardCharsets.ISO_8859_1))
+          .flip();
+        check("version 1", same(game, GameSnapshot.decode(v1, DICTIONARY))
+                && !v1.hasRemaining());
+    }
+
+    /**
+     * Checks that a single game survives a round trip, and that encoding the
+     * decoded game yields the same bytes.
+     *
+     * @param name The name of the check.
+     * @param game The game to encode.
+     * @param order The byte order of the buffer.
+     */
+    private static void roundTrip(String name, Hangman game, ByteOrder order) {
+        int offset = 3;
+        ByteBuffer buffer = ByteBuffer.allocate(offset + GameSnapshot.size(game))
+                .order(order);
+        buffer.position(offset);
+        GameSnapshot.encode(game, buffer);
+        boolean full = !buffer.hasRemaining();
+        buffer.position(offset);
+        Hangman decoded = GameSnapshot.decode(buffer, DICTIONARY);
+        ByteBuffer again = ByteBuffer.allocate(GameSnapshot.size(decoded))
+                .order(order);
+        GameSnapshot.encode(decoded, again);
+        buffer.position(offset);
+        check(name + " (" + order + ", difficulty " + game.getDifficulty() + ")",
+                full && same(game, decoded) && buffer.equals(again.flip()));
+    }
+
+    /**
+     * Checks that malformed snapshots are rejected.
+     */
+    private static void checkMalformed() {
+        Hangman game = game(Hangman.MEDIUM_DIFFICULTY, "zebra", "ex");
+        byte[] valid = encode(game);
+        expect("unknown version", IllegalArgumentException.class,
+                patch(valid, 0, (byte) (GameSnapshot.VERSION + 1)));
+        expect("difficulty too large", IllegalArgumentException.class,
+                patch(valid, 1, (byte) (Hangman.HARD_DIFFICULTY + 1)));
+        expect("difficulty negative", IllegalArgumentException.class,
+                patch(valid, 1, (byte) -1));
+        expect("guesses left negative", IllegalArgumentException.class,
+                patch(valid, 2, (byte) -1));
+        expect("guesses left too large", IllegalArgumentException.class,
+                patch(valid, 2, (byte) (game.maxGuesses() + 1)));
+        expect("mask beyond 'z'", IllegalArgumentException.class,
+                patch(valid, 4, (byte) 0x80));
+        expect("truncated header", BufferUnderflowException.class,
+                Arrays.copyOf(valid, GameSnapshot.HEADER_SIZE - 1));
+        expect("truncated word", BufferUnderflowException.class,
+                Arrays.copyOf(valid, valid.length - 1));
+        // "zebra" after "e" and "xy": the guess length is at index 14
+        byte[] others = encode(play(game(Hangman.MEDIUM_DIFFICULTY, "zebra",
+                "e"), "xy"));
+        expect("empty guess", IllegalArgumentException.class,
+                patch(others, 14, (byte) 0));
+        expect("letter as other guess", IllegalArgumentException.class,
+                patch(others, 14, (byte) 1));
+        expect("truncated guess", BufferUnderflowException.class,
+                Arrays.copyOf(others, others.length - 1));
+    }
+
+    /**
+     * Checks that games that cannot be encoded are rejected before anything
+     * is written to the buffer.
+     */
+    private static void checkUnencodable() {
+        unencodable("non ISO-8859-1 guess", game(Hangman.MEDIUM_DIFFICULTY,
+                "zebra", "e"), "\u0101", 64, IllegalArgumentException.class);
+        Hangman game = game(Hangman.MEDIUM_DIFFICULTY, "abracadabra", "a");
+        unencodable("buffer too small", game, null,
+                GameSnapshot.size(game) - 1, BufferOverflowException.class);
+        game = play(game(Hangman.MEDIUM_DIFFICULTY, "abracadabra", "a"), "bra");
+        unencodable("buffer too small for guesses", game, null,
+                GameSnapshot.size(game) - 1, BufferOverflowException.class);
+    }
+
+    /**
+     * Checks that encoding the given game fails with the given exception and
+     * leaves the buffer unchanged.
+     *
+     * @param name The name of the check.
+     * @param game The game to encode.
+     * @param guess A guess to make before encoding, or {@code null}.
+     * @param capacity The capacity of the buffer.
+     * @param expected The type of the expected exception.
+     */
+    private static void unencodable(String name, Hangman game, String guess,
+            int capacity, Class<? extends RuntimeException> expected) {
+        if (guess != null) {
+            game.makeGuess(guess);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.position(1);
+        boolean thrown = false;
+        try {
+            GameSnapshot.encode(game, buffer);
+        }
+        catch (RuntimeException ex) {
+            thrown = expected.isInstance(ex);
+        }
+        boolean untouched = buffer.position() == 1;
+        for (int i = 0; i < buffer.capacity(); i++) {
+            untouched &= buffer.get(i) == 0;
+        }
+        check(name, thrown && untouched);
+    }
+
+    /**
+     * Checks that decoding the given bytes fails with the given exception.
+     *
+     * @param name The name of the check.
+     * @param expected The type of the expected exception.
+     * @param bytes The snapshot to decode.
+     */
+    private static void expect(String name,
+            Class<? extends RuntimeException> expected, byte[] bytes) {
+        boolean thrown = false;
+        try {
+            GameSnapshot.decode(ByteBuffer.wrap(bytes), DICTIONARY);
+        }
+        catch (RuntimeException ex) {
+            thrown = expected.isInstance(ex);
+        }
+        check(name, thrown);
+    }
+
+    /**
+     * Returns a game with the given difficulty and word, after making the
+     * given single-letter guesses.
+     *
+     * @param difficulty The difficulty of the game.
+     * @param word The word to guess.
+     * @param guesses The letters to guess, in order.
+     * @return The game.
+     */
+    private static Hangman game(int difficulty, String word, String guesses) {
+        Hangman game = new Hangman(DICTIONARY, difficulty);
+        game.resetGame(new Word(word));
+        for (int i = 0; i < guesses.length(); i++) {
+            game.makeGuess(StringUtilities.valueOf(guesses.charAt(i)));
+        }
+        return game;
+    }
+
+    /**
+     * Makes the given guesses, which may be of any length, in the given game.
+     *
+     * @param game The game to guess in.
+     * @param guesses The guesses to make, in order.
+     * @return The game.
+     */
+    private static Hangman play(Hangman game, String... guesses) {
+        for (String guess : guesses) {
+            game.makeGuess(guess);
+        }
+        return game;
+    }
+
+    /**
+     * Returns the snapshot of the given game.
+     *
+     * @param game The game to encode.
+     * @return The bytes of the snapshot.
+     */
+    private static byte[] encode(Hangman game) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameSnapshot.size(game));
+        GameSnapshot.encode(game, buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Returns a copy of the given bytes with a single byte replaced.
+     *
+     * @param bytes The bytes to copy.
+     * @param index The index of the byte to replace.
+     * @param value The new value of the byte.
+     * @return The patched copy.
+     */
+    private static byte[] patch(byte[] bytes, int index, byte value) {
+        byte[] copy = bytes.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    /**
+     * Returns {@code true} if the given games have the same visible state,
+     * {@code false} otherwise.
+     *
+     * @param a The first game.
+     * @param b The second game.
+     * @return {@code true} if the games are the same.
+     */
+    private static boolean same(Hangman a, Hangman b) {
+        return a.getCurrentWord().equals(b.getCurrentWord())
+            && a.getDifficulty() == b.getDifficulty()
+            && a.getGuessesLeft() == b.getGuessesLeft()
+            && a.getGuessedMask() == b.getGuessedMask()
+            && a.otherGuesses().equals(b.otherGuesses())
+            && a.getCorrectGuesses().equals(b.getCorrectGuesses())
+            && a.hasWon() == b.hasWon()
+            && a.canGuess() == b.canGuess();
+    }
+
+    /**
+     * Prints the result of a check, counting it if it failed.
+     *
+     * @param name The name of the check.
+     * @param passed Whether the check passed.
+     */
+    private static void check(String name, boolean passed) {
+        checks++;
+        if (!passed) {
+            failures++;
+            System.out.println("FAIL " + name);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package hangman;
+
+/**
+ * The {@code RecentWordsBenchmark} class measures the time taken to select a
+ * word that avoids the recently served words of a player, and the memory used
+ * to remember them, with an increasing amount of remembered words.
+ *
+ * @author Oliver Abdulrahim
+ * @see RecentWords
+ */
+final class RecentWordsBenchmark {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private RecentWordsBenchmark() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Benchmarks word selection with an increasing amount of remembered words,
+     * showing that selection time and memory per player stay bounded.
+     *
+     * @param args The command-line arguments, which are ignored.
+     */
+    public static void main(String[] args) {
+        Dictionary dictionary = DictionaryCatalogue.defaultCatalogue()
+                .get(DictionaryCatalogue.ENGLISH);
+        int difficulty = Hangman.HARD_DIFFICULTY;
+        int draws = 2_000_000;
+        for (int capacity = 16; capacity <= 16384; capacity *= 4) {
+            RecentWords recent = new RecentWords(capacity);
+            long sink = 0;
+            for (int i = 0; i < draws / 10; i++) {
+                sink += dictionary.randomWord(difficulty, recent).length();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < draws; i++) {
+                sink += dictionary.randomWord(difficulty, recent).length();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("capacity=%5d select=%5.0f ns bytes/player=%6d (%d)%n",
+                    capacity, (double) elapsed / draws, recent.bytes(), sink & 1);
+        }
+    }
+
+}
@@ -0,0 +1,387 @@
+package hangman;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code SpectatorLoadCheck} class verifies that a single game can be
+ * watched by {@link #SPECTATORS} spectators on one node. It is run by the
+ * {@code test} target of the build, which fails if any check fails.
+ *
+ * <p> The first check publishes a long stream of events directly, with a
+ * tenth of the spectators slow and conflating. Every spectator must finish
+ * without an error, the others must receive every event in order, and the
+ * median latency of {@link SpectatorPublisher#publish(GameEvent)}, which does
+ * not depend on the amount of spectators, must stay within
+ * {@link #PUBLISH_NANOS_BUDGET}. The median is used so that the time the
+ * publishing thread spends preempted by the delivery threads is not counted. The second check plays whole games through
+ * {@link GameEngine#guess(String, String)}, and verifies that every spectator
+ * sees every accepted guess of its session. The third check closes sessions
+ * while guesses are being made in them, and verifies that a guess either
+ * fails without being applied or succeeds.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class SpectatorLoadCheck {
+
+    /**
+     * The amount of spectators of the game.
+     */
+    static final int SPECTATORS = 10_000;
+
+    /**
+     * The maximum median latency of publishing an event, which is a small
+     * fraction of the cost of copying it to every spectator.
+     */
+    static final long PUBLISH_NANOS_BUDGET = 5_000;
+
+    /**
+     * The amount of sessions closed while a guess is made in them.
+     */
+    private static final int CLOSE_ROUNDS = 20_000;
+
+    /**
+     * The amount of events published by the first check.
+     */
+    private static final int EVENTS = 1000;
+
+    /**
+     * The amount of events published before the check waits for the other
+     * spectators to catch up, which is less than the buffer of a spectator so
+     * that only the slow ones fall behind.
+     */
+    private static final int PACE = SpectatorPublisher.DEFAULT_BUFFER_SIZE / 2;
+
+    /**
+     * The delay before a slow spectator requests its next event.
+     */
+    private static final long SLOW_DELAY_MICROS = 500;
+
+    /**
+     * The amount of games played by the second check.
+     */
+    private static final int GAMES = 4;
+
+    /**
+     * The amount of time that spectators are given to finish.
+     */
+    private static final long TIMEOUT_SECONDS = 60;
+
+    /**
+     * Stores whether any check failed.
+     */
+    private static boolean failed;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private SpectatorLoadCheck() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Runs every check, printing its result, and exits with a non-zero status
+     * if any of them fails.
+     *
+     * @param args The command-line arguments, which are ignored.
+     * @throws InterruptedException If the check is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()));
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            checkPublisher(executor, scheduler);
+            checkEngine();
+            checkClose(executor);
+        }
+        finally {
+            executor.shutdownNow();
+            scheduler.shutdownNow();
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Publishes a stream of events to many spectators, a tenth of which are
+     * slow and conflating.
+     *
+     * @param executor The executor on which events are delivered.
+     * @param scheduler The scheduler that delays the requests of slow
+     *        spectators.
+     * @throws InterruptedException If the check is interrupted.
+     */
+    private static void checkPublisher(ExecutorService executor,
+            ScheduledExecutorService scheduler) throws InterruptedException {
+        SpectatorPublisher publisher = new SpectatorPublisher(executor,
+                SpectatorPublisher.DEFAULT_BUFFER_SIZE);
+        CountDownLatch finished = new CountDownLatch(SPECTATORS);
+        Spectator[] spectators = new Spectator[SPECTATORS];
+        for (int i = 0; i < SPECTATORS; i++) {
+            boolean slow = i % 10 == 0;
+            spectators[i] = new Spectator(finished, slow ? scheduler : null);
+            publisher.subscribe(spectators[i], slow);
+        }
+        long[] latencies = new long[EVENTS];
+        for (int e = 1; e <= EVENTS; e++) {
+            GameEvent event = new GameEvent(e, GameEvent.HIT, "e", "e____", 6);
+            long start = System.nanoTime();
+            publisher.publish(event);
+            latencies[e - 1] = System.nanoTime() - start;
+            if (e % PACE == 0) {
+                awaitFast(spectators, e);
+            }
+        }
+        publisher.close();
+        boolean done = finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        int errors = 0;
+        int incomplete = 0;
+        int conflated = 0;
+        for (Spectator s : spectators) {
+            errors += s.error != null || s.outOfOrder ? 1 : 0;
+            if (s.scheduler == null ? s.received != EVENTS : s.last != EVENTS) {
+                incomplete++;
+            }
+            conflated += s.received < EVENTS ? 1 : 0;
+        }
+        Arrays.sort(latencies);
+        long median = latencies[EVENTS / 2];
+        boolean passed = done && errors == 0 && incomplete == 0
+                && median <= PUBLISH_NANOS_BUDGET;
+        report(passed, String.format("publisher: %d spectators, %d events, "
+                + "%d errors, %d incomplete, %d conflated, publish median %d "
+                + "ns (budget %d)", SPECTATORS, EVENTS, errors, incomplete,
+                conflated, median, PUBLISH_NANOS_BUDGET));
+    }
+
+    /**
+     * Waits until every spectator that is not slow has received the given
+     * amount of events.
+     *
+     * @param spectators The spectators to wait for.
+     * @param events The amount of events published so far.
+     * @throws InterruptedException If the check is interrupted.
+     */
+    private static void awaitFast(Spectator[] spectators, int events)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        for (Spectator s : spectators) {
+            while (s.scheduler == null && s.received < events && s.error == null
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    /**
+     * Plays whole games through an engine while many spectators watch.
+     *
+     * @throws InterruptedException If the check is interrupted.
+     */
+    private static void checkEngine() throws InterruptedException {
+        Dictionary dictionary = new Dictionary("check", Arrays.asList(
+                new Word("abracadabra"), new Word("mississippi"),
+                new Word("zebra"), new Word("quiz")));
+        GameEngine engine = new GameEngine("check", dictionary);
+        int mismatches = 0;
+        for (int g = 0; g < GAMES; g++) {
+            String sessionId = "game" + g;
+            Hangman game = engine.open(sessionId, Hangman.MEDIUM_DIFFICULTY);
+            CountDownLatch finished = new CountDownLatch(SPECTATORS);
+            List<Spectator> spectators = new ArrayList<>(SPECTATORS);
+            for (int i = 0; i < SPECTATORS; i++) {
+                Spectator s = new Spectator(finished, null);
+                spectators.add(s);
+                engine.spectate(sessionId, s, false);
+            }
+            int accepted = 0;
+            for (char c = 'a'; c <= 'z' && game.canGuess() && !game.hasWon(); c++) {
+                int guessesLeft = game.getGuessesLeft();
+                String guess = StringUtilities.valueOf(c);
+                if (engine.guess(sessionId, guess)
+                        || game.getGuessesLeft() != guessesLeft) {
+                    accepted++;
+                }
+                // A repeated guess is rejected and must not be published
+                engine.guess(sessionId, guess);
+            }
+            engine.close(sessionId);
+            if (!finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                mismatches += (int) finished.getCount();
+                continue;
+            }
+            int type = game.hasWon() ? GameEvent.WON : GameEvent.LOST;
+            for (Spectator s : spectators) {
+                if (s.error != null || s.outOfOrder || s.received != accepted
+                        || s.lastType != type) {
+                    mismatches++;
+                }
+            }
+        }
+        report(mismatches == 0, String.format("engine: %d games, %d spectators "
+                + "each, %d mismatches", GAMES, SPECTATORS, mismatches));
+    }
+
+    /**
+     * Closes sessions with a spectator while a guess is made in each of them
+     * on another thread. Every guess must either succeed, or fail with an
+     * {@code IllegalArgumentException} without being applied.
+     *
+     * @param executor The executor on which guesses are made.
+     * @throws InterruptedException If the check is interrupted.
+     */
+    private static void checkClose(ExecutorService executor)
+            throws InterruptedException {
+        Dictionary dictionary = new Dictionary("check",
+                Arrays.asList(new Word("zebra")));
+        GameEngine engine = new GameEngine("check", dictionary);
+        int applied = 0;
+        int rejected = 0;
+        int failures = 0;
+        for (int i = 0; i < CLOSE_ROUNDS; i++) {
+            String sessionId = "close" + i;
+            Hangman game = engine.open(sessionId, Hangman.MEDIUM_DIFFICULTY);
+            engine.spectate(sessionId, new Spectator(new CountDownLatch(1),
+                    null), false);
+            Future<Boolean> guess = executor.submit(
+                    () -> engine.guess(sessionId, "e"));
+            engine.close(sessionId);
+            try {
+                guess.get();
+                applied++;
+            }
+            catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IllegalArgumentException
+                        && game.getGuessedMask() == 0) {
+                    rejected++;
+                }
+                else {
+                    failures++;
+                }
+            }
+        }
+        report(failures == 0, String.format("close: %d rounds, %d applied, "
+                + "%d rejected, %d failed", CLOSE_ROUNDS, applied, rejected,
+                failures));
+    }
+
+    /**
+     * Prints the result of a check, recording whether it failed.
+     *
+     * @param passed Whether the check passed.
+     * @param message The description of the result.
+     */
+    private static void report(boolean passed, String message) {
+        failed |= !passed;
+        System.out.println((passed ? "PASS " : "FAIL ") + message);
+    }
+
+    /**
+     * A spectator that records the events it receives. Fast spectators
+     * request every event up front, and slow ones request a single event
+     * at a time, after a delay.
+     */
+    private static final class Spectator
+        implements SpectatorPublisher.Subscriber
+    {
+
+        /**
+         * Stores the latch counted down when this spectator finishes.
+         */
+        private final CountDownLatch finished;
+
+        /**
+         * Stores the scheduler that delays requests, or {@code null} if this
+         * spectator is fast.
+         */
+        private final ScheduledExecutorService scheduler;
+
+        /**
+         * Stores the subscription of this spectator.
+         */
+        private SpectatorPublisher.Subscription subscription;
+
+        /**
+         * Stores the amount of events received.
+         */
+        private volatile int received;
+
+        /**
+         * Stores the sequence number of the last event received.
+         */
+        private volatile long last;
+
+        /**
+         * Stores the type of the last event received.
+         */
+        private volatile int lastType = -1;
+
+        /**
+         * Stores whether an event was received out of order, or a fast
+         * spectator missed an event.
+         */
+        private volatile boolean outOfOrder;
+
+        /**
+         * Stores the failure delivered to this spectator, if any.
+         */
+        private volatile Throwable error;
+
+        /**
+         * Constructs a {@code Spectator}.
+         *
+         * @param finished The latch to count down when finished.
+         * @param scheduler The scheduler that delays requests, or
+         *        {@code null} for a fast spectator.
+         */
+        Spectator(CountDownLatch finished, ScheduledExecutorService scheduler) {
+            this.finished = finished;
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void onSubscribe(SpectatorPublisher.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(scheduler == null ? Long.MAX_VALUE : 1);
+        }
+
+        @Override
+        public void onNext(GameEvent event) {
+            long expected = last + 1;
+            if (scheduler == null ? event.sequence() != expected
+                                  : event.sequence() < expected) {
+                outOfOrder = true;
+            }
+            last = event.sequence();
+            lastType = event.type();
+            received++;
+            if (scheduler != null) {
+                scheduler.schedule(() -> subscription.request(1),
+                        SLOW_DELAY_MICROS, TimeUnit.MICROSECONDS);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            finished.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            finished.countDown();
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package hangman;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@code TournamentBenchmark} class measures the throughput of a
+ * {@link Tournament} between the random and frequency strategies with an
+ * increasing amount of worker threads.
+ *
+ * <p> Usage: {@code TournamentBenchmark [rounds] [words]}.
+ *
+ * @author Oliver Abdulrahim
+ */
+final class TournamentBenchmark {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private TournamentBenchmark() {
+        throw new InstantiationError();
+    }
+
+    /**
+     * Benchmarks a tournament between the random and frequency strategies
+     * with an increasing amount of worker threads, up to the amount of
+     * available processors.
+     *
+     * @param args Optionally, the amount of rounds and words per round.
+     */
+    public static void main(String[] args) {
+        int roundCount = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int perRound = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Dictionary dictionary = DictionaryCatalogue.defaultCatalogue()
+                .get(DictionaryCatalogue.ENGLISH);
+        int difficulty = Hangman.MEDIUM_DIFFICULTY;
+        List<List<Word>> rounds = new ArrayList<>(roundCount);
+        for (int r = 0; r < roundCount; r++) {
+            List<Word> round = new ArrayList<>(perRound);
+            for (int i = 0; i < perRound; i++) {
+                round.add(dictionary.randomWord(difficulty));
+            }
+            rounds.add(round);
+        }
+        Map<String, GuessStrategy> players = new LinkedHashMap<>();
+        players.put("random", GuessStrategy.random());
+        players.put("frequency", GuessStrategy.frequency());
+        long games = (long) roundCount * perRound * players.size();
+        int processors = Runtime.getRuntime().availableProcessors();
+        double baseline = 0;
+        for (int threads = 1; threads <= processors;
+                threads = threads < processors ? Math.min(threads * 2, processors)
+                                               : threads + 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                Tournament warmup = new Tournament(dictionary, difficulty,
+                        players, rounds.subList(0, 1));
+                warmup.play(pool);
+                Tournament t = new Tournament(dictionary, difficulty, players,
+                        rounds);
+                long start = System.nanoTime();
+                List<Tournament.Standing> standings = t.play(pool);
+                double rate = games * 1e9 / (System.nanoTime() - start);
+                if (threads == 1) {
+                    baseline = rate;
+                }
+                System.out.printf("threads=%d games/s=%.0f speedup=%.2fx %s%n",
+                        threads, rate, rate / baseline, standings);
+            }
+            finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+}